@@ -0,0 +1,162 @@
+package io.quarkus.ts.openshift.common;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Archiving of the {@code target} directory for binary S2I builds, both ways: the archive that {@link BinaryBuild}
+ * streams to the API server (only included files, see {@code -Dts.binary-build-includes}), and {@code tar czf}
+ * of the whole {@code target} directory, as done with {@code -Dts.use-oc-for-deployment}. The fixture resembles
+ * a Quarkus build: a few hundred dependency JARs, compiled classes, generated sources and test reports, all with
+ * random (incompressible) content. The {@code tar} binary must be installed.
+ * <p>
+ * The {@code *Archive} benchmarks only measure local archiving, and report the archive size as the secondary
+ * {@code archiveMiB} result. The {@code *Upload} benchmarks upload the archive to the {@link MockCluster}
+ * and wait for the build: either streamed while archiving, or {@code tar czf} first and then the whole tarball,
+ * which is what {@code oc start-build --from-archive} does (the {@code oc} binary isn't needed, the tarball
+ * is uploaded with the client).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BinaryBuildArchiveBenchmark {
+    private Path workDir;
+    private Path target;
+    private Path tarball;
+
+    // keeps the mock cluster running between invocations
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+    private BinaryBuild binaryBuild;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ArchiveSize {
+        public double archiveMiB;
+
+        private int measurementIterations;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams params) {
+            measurementIterations = params.getMeasurement().getCount();
+        }
+
+        // the size is the same for all invocations, but JMH sums event counters of all measurement iterations
+        void set(long bytes) {
+            archiveMiB = bytes / (1024.0 * 1024.0) / measurementIterations;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("benchmark-archive");
+        target = workDir.resolve("target");
+        tarball = workDir.resolve("app.tar.gz");
+
+        Random random = new Random(0);
+
+        Path lib = target.resolve("quarkus-app").resolve("lib").resolve("main");
+        Files.createDirectories(lib);
+        for (int i = 0; i < 300; i++) {
+            writeRandomFile(lib.resolve("dependency-" + i + "-1.0.jar"), 64 * 1024, random);
+        }
+        writeRandomFile(target.resolve("quarkus-app").resolve("quarkus-run.jar"), 128 * 1024, random);
+        writeRandomFile(target.resolve("app-1.0.0-SNAPSHOT.jar"), 128 * 1024, random);
+
+        for (String root : new String[] { "classes", "test-classes", "generated-sources/annotations" }) {
+            Path packageDir = target.resolve(root);
+            for (String segment : new String[] { "io", "quarkus", "ts", "openshift", "app", "impl" }) {
+                packageDir = packageDir.resolve(segment);
+                Files.createDirectories(packageDir);
+                for (int i = 0; i < 50; i++) {
+                    writeRandomFile(packageDir.resolve("Class" + i + (root.startsWith("generated") ? ".java" : ".class")),
+                            2 * 1024, random);
+                }
+            }
+        }
+
+        Path reports = target.resolve("surefire-reports");
+        Files.createDirectories(reports);
+        for (int i = 0; i < 20; i++) {
+            writeRandomFile(reports.resolve("TEST-io.quarkus.ts.openshift.app.Test" + i + ".xml"), 16 * 1024, random);
+        }
+
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+        binaryBuild = new BinaryBuild(sharedClient.forTestClass("BinaryBuildArchiveBenchmark", null).client, "app");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        sharedClient.close();
+        mockCluster.close();
+
+        try (Stream<Path> files = Files.walk(workDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void streamedArchive(ArchiveSize size) throws IOException {
+        size.set(BinaryBuild.writeArchive(target, BinaryBuild.findIncludedFiles(target), new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+    }
+
+    @Benchmark
+    public void tarArchive(ArchiveSize size) throws IOException, InterruptedException {
+        tarWholeDirectory();
+        size.set(Files.size(tarball));
+    }
+
+    @Benchmark
+    public void streamedUpload() throws Exception {
+        binaryBuild.fromDirectory(target);
+    }
+
+    @Benchmark
+    public void tarUpload() throws Exception {
+        tarWholeDirectory();
+        binaryBuild.fromFile(tarball);
+    }
+
+    private void tarWholeDirectory() throws IOException, InterruptedException {
+        new Command("tar", "czf", tarball.toString(), "-C", workDir.toString(), "target").runAndWait();
+    }
+
+    private static void writeRandomFile(Path file, int size, Random random) throws IOException {
+        byte[] content = new byte[size];
+        random.nextBytes(content);
+        Files.write(file, content);
+    }
+}
@@ -0,0 +1,148 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.openshift.api.model.BuildConfigBuilder;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.api.model.ImageStreamBuilder;
+import io.fabric8.openshift.api.model.RouteBuilder;
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfigBuilder;
+import io.quarkus.ts.openshift.common.ImageOverrides.ImageOverridesConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of {@code openshift.yml} and applying image overrides to the loaded resources. The manifest contains
+ * a given number of applications, each of them consisting of an image stream, a build config, a deployment config
+ * with 2 containers, a service and a route, similarly to what Quarkus generates. The client never connects
+ * to an API server, it's only used for parsing and visiting resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeploymentModelBenchmark {
+    @Param({"1", "50"})
+    public int apps;
+
+    private OpenShiftClient oc;
+    private byte[] yaml;
+    private List<HasMetadata> resources;
+    private ImageOverridesConfig overrides;
+
+    @Setup
+    public void setUp() {
+        oc = new DefaultOpenShiftClient(new OpenShiftConfigBuilder()
+                .withMasterUrl("https://localhost:6443")
+                .withNamespace("benchmark")
+                .build());
+
+        StringBuilder manifest = new StringBuilder();
+        for (int i = 0; i < apps; i++) {
+            for (HasMetadata resource : application(i)) {
+                manifest.append(Serialization.asYaml(resource));
+            }
+        }
+        yaml = manifest.toString().getBytes(StandardCharsets.UTF_8);
+        resources = load();
+
+        List<String> rules = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rules.add("registry.example.com/ns-" + i + "/*=mirror.local/ns-" + i + "/*");
+        }
+        rules.add("registry.access.redhat.com/ubi8/openjdk-11=mirror.local/ubi8/openjdk-11");
+        overrides = ImageOverridesConfig.parse(rules.stream());
+    }
+
+    @TearDown
+    public void tearDown() {
+        oc.close();
+    }
+
+    @Benchmark
+    public List<HasMetadata> load() {
+        return oc.load(new ByteArrayInputStream(yaml)).get();
+    }
+
+    @Benchmark
+    public List<HasMetadata> applyImageOverrides() {
+        return ImageOverrides.apply(resources, overrides, oc);
+    }
+
+    private static List<HasMetadata> application(int index) {
+        String name = "app-" + index;
+        List<HasMetadata> result = new ArrayList<>();
+        result.add(new ImageStreamBuilder()
+                .withNewMetadata().withName(name).addToLabels("app", name).endMetadata()
+                .withNewSpec()
+                .addNewTag().withName("base").withNewFrom().withKind("DockerImage")
+                .withName("registry.access.redhat.com/ubi8/openjdk-11").endFrom().endTag()
+                .endSpec()
+                .build());
+        result.add(new BuildConfigBuilder()
+                .withNewMetadata().withName(name).addToLabels("app", name).endMetadata()
+                .withNewSpec()
+                .withNewOutput().withNewTo().withKind("ImageStreamTag").withName(name + ":1.0").endTo().endOutput()
+                .withNewSource().withNewBinary().endBinary().endSource()
+                .withNewStrategy().withNewSourceStrategy().withNewFrom().withKind("ImageStreamTag")
+                .withName(name + ":base").endFrom().endSourceStrategy().endStrategy()
+                .endSpec()
+                .build());
+        result.add(new DeploymentConfigBuilder()
+                .withNewMetadata().withName(name).addToLabels("app", name).endMetadata()
+                .withNewSpec()
+                .withReplicas(1)
+                .addToSelector("app", name)
+                .withNewTemplate()
+                .withNewMetadata().addToLabels("app", name).endMetadata()
+                .withNewSpec()
+                .addNewContainer().withName(name).withImage("registry.example.com/ns-" + index % 100 + "/" + name + ":1.0")
+                .addNewEnv().withName("JAVA_OPTIONS").withValue("-Dquarkus.http.host=0.0.0.0").endEnv()
+                .addNewPort().withContainerPort(8080).withName("http").endPort()
+                .withNewReadinessProbe().withNewHttpGet().withPath("/health/ready").withPort(new IntOrString(8080)).endHttpGet()
+                .endReadinessProbe()
+                .endContainer()
+                .addNewContainer().withName("sidecar").withImage("registry.example.com/ns-1/sidecar:latest").endContainer()
+                .endSpec()
+                .endTemplate()
+                .endSpec()
+                .build());
+        result.add(new ServiceBuilder()
+                .withNewMetadata().withName(name).addToLabels("app", name).endMetadata()
+                .withNewSpec()
+                .addToSelector("app", name)
+                .addNewPort().withName("http").withPort(8080).withTargetPort(new IntOrString(8080)).endPort()
+                .endSpec()
+                .build());
+        result.add(new RouteBuilder()
+                .withNewMetadata().withName(name).addToLabels("app", name).endMetadata()
+                .withNewSpec()
+                .withNewTo().withKind("Service").withName(name).endTo()
+                .withNewPort().withTargetPort(new IntOrString("http")).endPort()
+                .endSpec()
+                .build());
+        return result;
+    }
+}
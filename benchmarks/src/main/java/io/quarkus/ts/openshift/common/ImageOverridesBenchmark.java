@@ -0,0 +1,103 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.ImageOverrides.ImageOverridesConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Image override lookups with a few thousand rules. A third of the rules are exact images with tag,
+ * a third are exact images without tag, and a third are registry/path prefix rules. Images are a mix
+ * of all three kinds of matches, plus images that don't match any rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageOverridesBenchmark {
+    private static final int IMAGES = 4096;
+
+    @Param({"1000", "5000"})
+    public int rules;
+
+    private List<String> configLines;
+    private ImageOverridesConfig config;
+    private String[] images;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        configLines = new ArrayList<>();
+        for (int i = 0; i < rules; i++) {
+            String registry = "registry-" + (i % 50) + ".example.com";
+            switch (i % 3) {
+                case 0:
+                    configLines.add(registry + "/ns-" + i + "/image-" + i + ":1." + i + "=mirror.local/image-" + i + ":1." + i);
+                    break;
+                case 1:
+                    configLines.add(registry + "/ns-" + i + "/image-" + i + "=mirror.local/image-" + i);
+                    break;
+                default:
+                    configLines.add(registry + "/ns-" + i + "/*=mirror.local/ns-" + i + "/*");
+                    break;
+            }
+        }
+        config = ImageOverridesConfig.parse(configLines.stream());
+
+        Random random = new Random(42);
+        images = new String[IMAGES];
+        for (int i = 0; i < IMAGES; i++) {
+            int rule = random.nextInt(rules);
+            String registry = "registry-" + (rule % 50) + ".example.com";
+            switch (random.nextInt(4)) {
+                case 0:
+                    images[i] = registry + "/ns-" + rule + "/image-" + rule + ":1." + rule;
+                    break;
+                case 1:
+                    images[i] = registry + "/ns-" + rule + "/image-" + rule + ":latest";
+                    break;
+                case 2:
+                    images[i] = registry + "/ns-" + rule + "/sub/image:1.0";
+                    break;
+                default:
+                    images[i] = "docker.io/library/unmatched-" + rule + ":1.0";
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public String overrideFor() {
+        String image = images[next];
+        next = (next + 1) & (IMAGES - 1);
+        return config.overrideFor(image);
+    }
+
+    @Benchmark
+    public void overrideForAll(Blackhole blackhole) {
+        for (String image : images) {
+            blackhole.consume(config.overrideFor(image));
+        }
+    }
+
+    @Benchmark
+    public ImageOverridesConfig parse() {
+        return ImageOverridesConfig.parse(configLines.stream());
+    }
+}
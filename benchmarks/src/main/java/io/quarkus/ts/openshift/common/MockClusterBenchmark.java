@@ -0,0 +1,231 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.injection.TestResource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.engine.JupiterTestEngine;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.DiscoveryFilter;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Overhead of the test framework per test class, with zero cluster latency. Each invocation runs a single
+ * {@code @OpenShiftTest} class through the JUnit Jupiter engine against the {@link MockCluster}, that is,
+ * the application is deployed (apply, binary build, route), its only test method is run and the application
+ * is undeployed.
+ * <p>
+ * The application resources and the application JAR are written into {@code target} of the current directory,
+ * so the benchmark should be run from the {@code benchmarks} directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+// configuration is read from system properties only once
+@Fork(value = 1, jvmArgsAppend = "-D" + MockCluster.CONFIG_KEY)
+public class MockClusterBenchmark {
+    private static final String APP_NAME = "mock-app";
+
+    private final JupiterTestEngine engine = new JupiterTestEngine();
+
+    // keeps the mock cluster running between invocations
+    private MockCluster mockCluster;
+
+    @Setup
+    public void setUp() throws IOException {
+        mockCluster = MockCluster.acquire();
+
+        Path target = Paths.get("target");
+        Files.createDirectories(target.resolve("kubernetes"));
+        Files.write(target.resolve("kubernetes").resolve("openshift.yml"), resourcesYaml().getBytes(StandardCharsets.UTF_8));
+        Files.write(target.resolve(APP_NAME + "-runner.jar"), new byte[64 * 1024]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mockCluster.close();
+    }
+
+    @Benchmark
+    public void testClass() {
+        TestDescriptor root = engine.discover(new ClassDiscoveryRequest(SampleTest.class), UniqueId.forEngine(engine.getId()));
+        FailureListener listener = new FailureListener();
+        engine.execute(new ExecutionRequest(root, listener, EmptyConfigurationParameters.INSTANCE));
+        if (listener.failure != null) {
+            throw new IllegalStateException("Test class failed", listener.failure);
+        }
+    }
+
+    @OpenShiftTest
+    @CustomAppMetadata(appName = APP_NAME, httpRoot = "/", knownEndpoint = "/")
+    public static class SampleTest {
+        @TestResource
+        private OpenShiftClient oc;
+
+        @Test
+        public void deployed() {
+            assertNotNull(oc.deploymentConfigs().withName(APP_NAME).get());
+        }
+    }
+
+    private static String resourcesYaml() {
+        return String.join("\n",
+                "---",
+                "apiVersion: image.openshift.io/v1",
+                "kind: ImageStream",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  lookupPolicy:",
+                "    local: true",
+                "---",
+                "apiVersion: build.openshift.io/v1",
+                "kind: BuildConfig",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  output:",
+                "    to:",
+                "      kind: ImageStreamTag",
+                "      name: " + APP_NAME + ":1.0",
+                "  source:",
+                "    binary: {}",
+                "  strategy:",
+                "    sourceStrategy:",
+                "      from:",
+                "        kind: DockerImage",
+                "        name: registry.access.redhat.com/ubi8/openjdk-11",
+                "---",
+                "apiVersion: apps.openshift.io/v1",
+                "kind: DeploymentConfig",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  replicas: 1",
+                "  selector:",
+                "    app: " + APP_NAME,
+                "  template:",
+                "    metadata:",
+                "      labels:",
+                "        app: " + APP_NAME,
+                "    spec:",
+                "      containers:",
+                "      - name: " + APP_NAME,
+                "        image: " + APP_NAME + ":1.0",
+                "        ports:",
+                "        - containerPort: 8080",
+                "---",
+                "apiVersion: v1",
+                "kind: Service",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  selector:",
+                "    app: " + APP_NAME,
+                "  ports:",
+                "  - port: 8080",
+                "---",
+                "apiVersion: route.openshift.io/v1",
+                "kind: Route",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  to:",
+                "    kind: Service",
+                "    name: " + APP_NAME,
+                "");
+    }
+
+    private static final class ClassDiscoveryRequest implements EngineDiscoveryRequest {
+        private final ClassSelector selector;
+
+        ClassDiscoveryRequest(Class<?> testClass) {
+            this.selector = DiscoverySelectors.selectClass(testClass);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends DiscoverySelector> List<T> getSelectorsByType(Class<T> selectorType) {
+            return selectorType.isInstance(selector) ? Collections.singletonList((T) selector) : Collections.emptyList();
+        }
+
+        @Override
+        public <T extends DiscoveryFilter<?>> List<T> getFiltersByType(Class<T> filterType) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public ConfigurationParameters getConfigurationParameters() {
+            return EmptyConfigurationParameters.INSTANCE;
+        }
+    }
+
+    private static final class EmptyConfigurationParameters implements ConfigurationParameters {
+        static final EmptyConfigurationParameters INSTANCE = new EmptyConfigurationParameters();
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Boolean> getBoolean(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+
+    private static final class FailureListener implements EngineExecutionListener {
+        private Throwable failure;
+
+        @Override
+        public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult result) {
+            if (failure == null && result.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+                failure = result.getThrowable().orElseGet(() -> new AssertionError(testDescriptor.getDisplayName() + " failed"));
+            }
+        }
+
+        @Override
+        public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+            if (failure == null) {
+                failure = new AssertionError(testDescriptor.getDisplayName() + " skipped: " + reason);
+            }
+        }
+    }
+}
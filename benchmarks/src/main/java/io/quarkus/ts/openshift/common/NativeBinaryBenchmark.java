@@ -0,0 +1,79 @@
+package io.quarkus.ts.openshift.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Looking for the native binary in a {@code target} directory that resembles the result of a Quarkus build:
+ * compiled classes in a deep package hierarchy, generated sources, and a few hundred dependency JARs.
+ * For JVM builds, there's no native binary, so the whole tree is walked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NativeBinaryBenchmark {
+    @Param({"false", "true"})
+    public boolean nativeBuild;
+
+    private Path target;
+
+    @Setup
+    public void setUp() throws IOException {
+        target = Files.createTempDirectory("benchmark-target");
+
+        for (String root : new String[] { "classes", "test-classes", "generated-sources/annotations" }) {
+            Path packageDir = target.resolve(root);
+            for (String segment : new String[] { "io", "quarkus", "ts", "openshift", "app", "impl" }) {
+                packageDir = packageDir.resolve(segment);
+                Files.createDirectories(packageDir);
+                for (int i = 0; i < 50; i++) {
+                    Files.createFile(packageDir.resolve("Class" + i + (root.startsWith("generated") ? ".java" : ".class")));
+                }
+            }
+        }
+
+        Path lib = target.resolve("quarkus-app").resolve("lib").resolve("main");
+        Files.createDirectories(lib);
+        for (int i = 0; i < 300; i++) {
+            Files.createFile(lib.resolve("dependency-" + i + "-1.0.jar"));
+        }
+        Files.createFile(target.resolve("quarkus-app").resolve("quarkus-run.jar"));
+
+        if (nativeBuild) {
+            Files.createFile(target.resolve("app-1.0.0-SNAPSHOT-runner"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(target)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Optional<String> findNativeBinary() throws IOException {
+        return OpenShiftTestExtension.findNativeBinary(target);
+    }
+}
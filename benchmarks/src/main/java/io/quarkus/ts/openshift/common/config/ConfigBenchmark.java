@@ -0,0 +1,59 @@
+package io.quarkus.ts.openshift.common.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of {@link Config} from system properties, most of which don't have the {@code ts.} prefix,
+ * and lookups in the constructed config.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+    @Param({"0", "500"})
+    public int extraProperties;
+
+    private Config config;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < extraProperties; i++) {
+            System.setProperty("benchmark.property-" + i, "value-" + i);
+            if (i % 10 == 0) {
+                System.setProperty("ts.benchmark-" + i, String.valueOf(i));
+            }
+        }
+        System.setProperty("ts.benchmark-flag", "");
+        config = new Config();
+    }
+
+    @Benchmark
+    public Config construct() {
+        return new Config();
+    }
+
+    @Benchmark
+    public boolean getAsBoolean() {
+        return config.getAsBoolean("ts.benchmark-flag", false);
+    }
+
+    @Benchmark
+    public String getAsStringMissing() {
+        return config.getAsString("ts.benchmark-missing", "default");
+    }
+}
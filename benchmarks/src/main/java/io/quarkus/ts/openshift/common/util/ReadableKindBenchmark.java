@@ -0,0 +1,39 @@
+package io.quarkus.ts.openshift.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of resource kinds to a human-readable form, e.g. {@code DeploymentConfig} to {@code deployment config},
+ * which is done for each resource that is awaited.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadableKindBenchmark {
+    private static final String[] KINDS = {
+            "Pod", "Service", "DeploymentConfig", "Deployment", "StatefulSet", "ReplicationController",
+            "PersistentVolumeClaim", "ImageStream",
+    };
+
+    private int next;
+
+    @Benchmark
+    public String readableKind() {
+        String kind = KINDS[next];
+        next = (next + 1) & (KINDS.length - 1);
+        return AwaitUtil.readableKind(kind);
+    }
+}
@@ -8,26 +8,27 @@ import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 import static org.fusesource.jansi.Ansi.ansi;
 
 final class AdditionalResourcesDeployed implements CloseableResource {
     private final String url;
-    private final Path file;
+    private final List<HasMetadata> resources;
     private final TestsStatus testsStatus;
+    private final DeploymentPipeline pipeline;
 
-    private AdditionalResourcesDeployed(String url, Path file, TestsStatus testsStatus) {
+    private AdditionalResourcesDeployed(String url, List<HasMetadata> resources, TestsStatus testsStatus,
+                                        DeploymentPipeline pipeline) {
         this.url = url;
-        this.file = file;
+        this.resources = resources;
         this.testsStatus = testsStatus;
+        this.pipeline = pipeline;
     }
 
     static AdditionalResourcesDeployed deploy(AdditionalResources annotation, TestsStatus testsStatus,
-                                              OpenShiftClient oc, AwaitUtil awaitUtil) throws IOException, InterruptedException {
+                                              OpenShiftClient oc, DeploymentPipeline pipeline, AwaitUtil awaitUtil)
+            throws IOException, InterruptedException, OpenShiftTestException {
         String url = annotation.value();
 
         InputStream resources;
@@ -40,17 +41,17 @@ final class AdditionalResourcesDeployed implements CloseableResource {
         } else {
             resources = new URL(url).openStream();
         }
-        Path tempFile = Files.createTempFile("additional-resources", ".yml");
-        Files.copy(resources, tempFile, StandardCopyOption.REPLACE_EXISTING);
-        ImageOverrides.apply(tempFile, oc);
+        List<HasMetadata> parsedResources = ImageOverrides.apply(pipeline.load(resources), oc);
 
         System.out.println(ansi().a("deploying ").fgYellow().a(url).reset());
-        new Command("oc", "apply", "-f", tempFile.toString()).runAndWait();
-
-        List<HasMetadata> deployedResources = oc.load(Files.newInputStream(tempFile)).get();
+        List<HasMetadata> deployedResources = pipeline.apply(parsedResources);
         awaitUtil.awaitReadiness(deployedResources);
 
-        return new AdditionalResourcesDeployed(url, tempFile, testsStatus);
+        return new AdditionalResourcesDeployed(url, parsedResources, testsStatus, pipeline);
+    }
+
+    List<HasMetadata> resources() {
+        return resources;
     }
 
     @Override
@@ -60,7 +61,6 @@ final class AdditionalResourcesDeployed implements CloseableResource {
         }
 
         System.out.println(ansi().a("undeploying ").fgYellow().a(url).reset());
-        new Command("oc", "delete", "-f", file.toString(), "--ignore-not-found").runAndWait();
-        Files.delete(file);
+        pipeline.delete(resources);
     }
 }
@@ -0,0 +1,84 @@
+package io.quarkus.ts.openshift.common;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Counts requests to the OpenShift API server and records their latencies in a {@link Histogram}, so that a summary
+ * (count, failures and latency percentiles) can be printed after a test class finishes.
+ * Latency of a watch is the time until the initial response, not the duration of the watch.
+ * <p>
+ * This is a network interceptor, so each attempt of a retried request is counted separately, and the latency
+ * doesn't include waiting for a connection.
+ */
+final class ApiRequestMetrics implements Interceptor {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    // auto-resizing, some requests (e.g. binary build uploads) take minutes
+    private final Histogram latencies = new Histogram(SIGNIFICANT_DIGITS);
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(chain.request());
+            if (response.code() >= 400) {
+                failures.incrementAndGet();
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            failures.incrementAndGet();
+            throw e;
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    private synchronized void record(long nanos) {
+        latencies.recordValue(nanos);
+    }
+
+    synchronized int count() {
+        return (int) latencies.getTotalCount();
+    }
+
+    int failures() {
+        return failures.get();
+    }
+
+    /**
+     * Returns given {@code percentile} (0-100) of recorded latencies in nanoseconds, or -1 if nothing was recorded.
+     */
+    synchronized long percentile(double percentile) {
+        if (latencies.getTotalCount() == 0) {
+            return -1;
+        }
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    void print(String testClass) {
+        int count = count();
+        if (count == 0) {
+            return;
+        }
+
+        System.out.println(ansi().a("API requests of ").fgYellow().a(testClass).reset().a(": ")
+                .fgYellow().a(count).reset().a(" (").a(failures()).a(" failed), latency")
+                .a(" p50 ").fgYellow().a(formatMillis(percentile(50))).reset()
+                .a(" p90 ").fgYellow().a(formatMillis(percentile(90))).reset()
+                .a(" p99 ").fgYellow().a(formatMillis(percentile(99))).reset()
+                .a(" max ").fgYellow().a(formatMillis(percentile(100))).reset());
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f ms", nanos / 1_000_000.0);
+    }
+}
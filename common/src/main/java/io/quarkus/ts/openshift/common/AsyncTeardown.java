@@ -0,0 +1,167 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.config.Config;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Runs teardown tasks (deleting resources, dropping namespaces) in the background, one after another,
+ * so that the next test class can start immediately. Each task is associated with keys of the resources
+ * it deletes; before a resource with the same key is deployed again, pending tasks for that key are awaited
+ * (see {@link #awaitConflicting(Collection)}), so a late deletion never removes a freshly deployed resource.
+ * <p>
+ * The queue is drained when the test run finishes, with a bounded timeout, and a summary of failed tasks
+ * is printed. If {@code -Dts.synchronous-teardown} is set, tasks are executed immediately on the calling thread.
+ */
+final class AsyncTeardown implements CloseableResource {
+    static final String CONFIG_KEY = "ts.synchronous-teardown";
+
+    private static final long DRAIN_TIMEOUT_MINUTES = 10;
+
+    static boolean isSynchronous() {
+        return Config.get().getAsBoolean(CONFIG_KEY, false);
+    }
+
+    static String key(String namespace, HasMetadata resource) {
+        if (resource.getMetadata().getNamespace() != null) {
+            namespace = resource.getMetadata().getNamespace();
+        }
+        return namespace + "/" + resource.getKind() + "/" + resource.getMetadata().getName();
+    }
+
+    static String key(String namespace) {
+        return namespace;
+    }
+
+    /**
+     * Returns keys of given {@code resources}, for deleting them.
+     */
+    static List<String> keys(String namespace, Collection<HasMetadata> resources) {
+        return resources.stream().map(it -> key(namespace, it)).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns keys that deploying given {@code resources} into given {@code namespace} conflicts with: keys
+     * of the resources and, because resources are deleted together with their namespace, the key of the namespace.
+     * Only dropping a namespace is registered under the namespace key, so deploying doesn't wait for unrelated
+     * deletions in the same namespace.
+     */
+    static List<String> deploymentKeys(String namespace, Collection<HasMetadata> resources) {
+        List<String> result = new ArrayList<>(keys(namespace, resources));
+        result.add(key(namespace));
+        return result;
+    }
+
+    @FunctionalInterface
+    interface Task {
+        void run(OpenShiftClient oc) throws Exception;
+    }
+
+    private final OpenShiftClientResource client;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "teardown");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<CompletableFuture<Void>> tasks = new CopyOnWriteArrayList<>();
+    private final Map<String, CompletableFuture<Void>> pendingByKey = new ConcurrentHashMap<>();
+    private final List<String> failures = new CopyOnWriteArrayList<>();
+
+    AsyncTeardown(SharedOpenShiftClient sharedClient) {
+        this.client = sharedClient.forTestClass("teardown", null);
+    }
+
+    /**
+     * Queues given {@code task}. The task gets a client that stays open until the queue is drained,
+     * so it must not use a client of the test class that queued it, because that is closed earlier.
+     * Resources must be referred to with explicit namespace.
+     */
+    void submit(String description, Collection<String> keys, Task task) throws Exception {
+        if (isSynchronous()) {
+            task.run(client.client);
+            return;
+        }
+
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            try {
+                task.run(client.client);
+            } catch (Exception e) {
+                failures.add(description + ": " + e.getMessage());
+            }
+        }, executor);
+        tasks.add(future);
+        for (String key : keys) {
+            pendingByKey.put(key, future);
+        }
+        future.thenRun(() -> keys.forEach(key -> pendingByKey.remove(key, future)));
+    }
+
+    /**
+     * Waits until all queued tasks that delete a resource with one of given {@code keys} are finished.
+     */
+    void awaitConflicting(Collection<String> keys) throws InterruptedException, OpenShiftTestException {
+        List<CompletableFuture<Void>> conflicting = keys.stream()
+                .map(pendingByKey::get)
+                .filter(it -> it != null)
+                .distinct()
+                .collect(Collectors.toList());
+        if (conflicting.isEmpty()) {
+            return;
+        }
+
+        System.out.println(ansi().a("waiting for ").fgYellow().a(conflicting.size()).reset()
+                .a(" pending teardown tasks that delete the same resources"));
+        try {
+            CompletableFuture.allOf(conflicting.toArray(new CompletableFuture<?>[0]))
+                    .get(DRAIN_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new OpenShiftTestException("Failed waiting for pending teardown", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        long pending = tasks.stream().filter(it -> !it.isDone()).count();
+        if (pending > 0) {
+            System.out.println(ansi().a("waiting for ").fgYellow().a(pending).reset().a(" pending teardown tasks"));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).get(DRAIN_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            long unfinished = tasks.stream().filter(it -> !it.isDone()).count();
+            failures.add(unfinished + " tasks didn't finish in " + DRAIN_TIMEOUT_MINUTES + " minutes");
+        }
+
+        executor.shutdownNow();
+        client.close();
+
+        if (!failures.isEmpty()) {
+            System.out.println(ansi().a("teardown: ").fgRed().a(failures.size()).reset().a(" of ")
+                    .a(tasks.size()).a(" tasks failed:"));
+            for (String failure : new ArrayList<>(failures)) {
+                System.out.println(ansi().a("- ").a(failure));
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.openshift.api.model.Build;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.config.Config;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.utils.CountingOutputStream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.StringReader;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Starts a binary S2I build using the Fabric8 OpenShift client and waits for it to finish.
+ * <p>
+ * For JVM builds, the {@code target} directory is archived on the fly and streamed directly to the API server,
+ * without creating a temporary tarball. Only files matching the include patterns are archived. The patterns
+ * are globs relative to the {@code target} directory, separated by commas. They can be configured using
+ * {@code -Dts.binary-build-includes}; the default is {@value DEFAULT_INCLUDES}.
+ */
+final class BinaryBuild {
+    static final String INCLUDES_CONFIG_KEY = "ts.binary-build-includes";
+    private static final String DEFAULT_INCLUDES = "*-runner.jar,lib/**,quarkus-app/**";
+
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+    private static final long BUILD_TIMEOUT_MINUTES = 30;
+
+    private final OpenShiftClient oc;
+    private final String buildConfigName;
+
+    BinaryBuild(OpenShiftClient oc, String buildConfigName) {
+        this.oc = oc;
+        this.buildConfigName = buildConfigName;
+    }
+
+    void fromFile(Path file) throws IOException, InterruptedException, OpenShiftTestException {
+        System.out.println(ansi().a("uploading ").fgYellow().a(file).reset()
+                .a(" to build config ").fgYellow().a(buildConfigName).reset());
+
+        long start = System.nanoTime();
+        Build build;
+        try (InputStream is = Files.newInputStream(file)) {
+            build = oc.buildConfigs()
+                    .withName(buildConfigName)
+                    .instantiateBinary()
+                    .asFile(file.getFileName().toString())
+                    .fromInputStream(is);
+        }
+        printStats("uploaded", Files.size(file), System.nanoTime() - start);
+
+        awaitBuild(build);
+    }
+
+    /**
+     * When generating Kubernetes resources, Quarkus expects that all application files will reside
+     * in {@code /deployments/target}. All archive entries therefore have a single root directory named
+     * {@code target}, which the S2I builder image will unpack to {@code /deployments}.
+     */
+    void fromDirectory(Path target) throws IOException, InterruptedException, OpenShiftTestException {
+        List<Path> files = findIncludedFiles(target);
+        if (files.isEmpty()) {
+            throw new OpenShiftTestException("No files in " + target + " match " + includes()
+                    + ", did you build the application?");
+        }
+
+        System.out.println(ansi().a("uploading ").fgYellow().a(files.size()).reset().a(" files from ")
+                .fgYellow().a(target).reset().a(" to build config ").fgYellow().a(buildConfigName).reset());
+
+        long start = System.nanoTime();
+        PipedInputStream in = new PipedInputStream(PIPE_BUFFER_SIZE);
+        PipedOutputStream out = new PipedOutputStream(in);
+        CompletableFuture<Long> archive = new CompletableFuture<>();
+        new Thread(() -> {
+            try {
+                archive.complete(writeArchive(target, files, out));
+            } catch (Throwable e) {
+                archive.completeExceptionally(e);
+            }
+        }, "archiver for build config " + buildConfigName).start();
+
+        Build build;
+        try (InputStream is = in) {
+            build = oc.buildConfigs()
+                    .withName(buildConfigName)
+                    .instantiateBinary()
+                    .fromInputStream(is);
+        }
+
+        long uploadedBytes;
+        try {
+            uploadedBytes = archive.get();
+        } catch (ExecutionException e) {
+            throw new OpenShiftTestException("Failed archiving " + target, e.getCause());
+        }
+        printStats("archived and uploaded", uploadedBytes, System.nanoTime() - start);
+
+        awaitBuild(build);
+    }
+
+    static List<Path> findIncludedFiles(Path target) throws IOException {
+        List<PathMatcher> matchers = includes()
+                .stream()
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                .collect(Collectors.toList());
+
+        try (Stream<Path> files = Files.walk(target)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> matchers.stream().anyMatch(matcher -> matcher.matches(target.relativize(file))))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> includes() {
+        return Arrays.stream(Config.get().getAsString(INCLUDES_CONFIG_KEY, DEFAULT_INCLUDES).split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    // package-private for benchmarks
+    static long writeArchive(Path target, List<Path> files, OutputStream out) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream(out);
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(counter, PIPE_BUFFER_SIZE))) {
+            tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tar.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+
+            Set<Path> directories = new HashSet<>();
+            for (Path file : files) {
+                Path relativeFile = target.relativize(file);
+                for (Path dir = relativeFile.getParent(); dir != null; dir = dir.getParent()) {
+                    if (directories.add(dir)) {
+                        tar.putArchiveEntry(new TarArchiveEntry(target.resolve(dir).toFile(), entryName(dir)));
+                        tar.closeArchiveEntry();
+                    }
+                }
+
+                tar.putArchiveEntry(new TarArchiveEntry(file.toFile(), entryName(relativeFile)));
+                Files.copy(file, tar);
+                tar.closeArchiveEntry();
+            }
+        }
+        return counter.getBytesWritten();
+    }
+
+    private static String entryName(Path relativePath) {
+        StringBuilder result = new StringBuilder("target");
+        for (Path segment : relativePath) {
+            result.append('/').append(segment);
+        }
+        return result.toString();
+    }
+
+    private void awaitBuild(Build build) throws InterruptedException, OpenShiftTestException {
+        String buildName = build.getMetadata().getName();
+        System.out.println(ansi().a("waiting for build ").fgYellow().a(buildName).reset().a(" to finish"));
+
+        Build finished = oc.builds()
+                .withName(buildName)
+                .waitUntilCondition(BinaryBuild::isFinished, BUILD_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+
+        printBuildLog(buildName);
+
+        String phase = finished.getStatus().getPhase();
+        if (!"Complete".equals(phase)) {
+            throw new OpenShiftTestException("Build " + buildName + " didn't complete successfully (phase " + phase + ")");
+        }
+    }
+
+    private static boolean isFinished(Build build) {
+        if (build == null || build.getStatus() == null) {
+            return false;
+        }
+        String phase = build.getStatus().getPhase();
+        return "Complete".equals(phase) || "Failed".equals(phase) || "Error".equals(phase) || "Cancelled".equals(phase);
+    }
+
+    private void printBuildLog(String buildName) {
+        try (BufferedReader reader = new BufferedReader(new StringReader(oc.builds().withName(buildName).getLog()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                System.out.println(ansi().fgCyan().a(buildName).reset().a("> ").a(line));
+            }
+        } catch (Exception e) {
+            System.out.println(ansi().a("couldn't obtain log of build ").fgYellow().a(buildName).reset()
+                    .a(": " + e.getMessage()));
+        }
+    }
+
+    static void printStats(String action, long bytes, long nanos) {
+        System.out.println(ansi().a(action).a(" ").fgYellow().a(String.format("%.1f MiB", bytes / (1024.0 * 1024.0))).reset()
+                .a(" in ").fgYellow().a(String.format("%.1f s", nanos / 1_000_000_000.0)).reset());
+    }
+}
@@ -0,0 +1,263 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.ObjectReference;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.openshift.api.model.BuildConfig;
+import io.fabric8.openshift.api.model.ImageStreamBuilder;
+import io.fabric8.openshift.api.model.ImageStreamTag;
+import io.fabric8.openshift.api.model.ImageStreamTagBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.config.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Avoids redundant binary S2I builds. The application artifact (the native binary, or the files
+ * included in the JVM build archive, see {@link BinaryBuild}) is hashed together with the build strategy
+ * of the build config. After a successful build, the resulting image is tagged as {@code <hash>}
+ * into the {@code <build config>-build-cache} image stream, and both the cache tag and the build
+ * output tag are annotated with the hash. When an image with the same hash already exists, it's tagged
+ * into the build output image stream directly and the build is skipped.
+ * <p>
+ * The cache image stream isn't part of the application resources, so it survives undeployment and is shared
+ * by all test classes that deploy the same application into the same namespace. To keep it from growing
+ * indefinitely, only the most recently stored {@code -Dts.build-cache.max-tags} tags (10 by default) are kept.
+ * <p>
+ * Enabled with {@code -Dts.build-cache}. Not used with {@code -Dts.use-oc-for-deployment}, because
+ * {@code oc start-build} uploads the whole {@code target} directory, not only the files that are hashed.
+ */
+final class BuildCache {
+    static final String CONFIG_KEY = "ts.build-cache";
+    static final String MAX_TAGS_CONFIG_KEY = "ts.build-cache.max-tags";
+    static final String HASH_ANNOTATION = "ts.quarkus.io/artifact-hash";
+    static final String STORED_AT_ANNOTATION = "ts.quarkus.io/stored-at";
+
+    private static final int DEFAULT_MAX_TAGS = 10;
+
+    static boolean isEnabled() {
+        return Config.get().getAsBoolean(CONFIG_KEY, false) && !DeploymentPipeline.usesOc();
+    }
+
+    private final OpenShiftClient oc;
+    private final String buildConfigName;
+    private final String cacheImageStream;
+    private final int maxTags;
+
+    private String outputTag;
+    private String hash;
+
+    BuildCache(OpenShiftClient oc, String buildConfigName) {
+        this(oc, buildConfigName, Config.get().getAsInt(MAX_TAGS_CONFIG_KEY, DEFAULT_MAX_TAGS));
+    }
+
+    // the limit is configurable directly for tests
+    BuildCache(OpenShiftClient oc, String buildConfigName, int maxTags) {
+        this.oc = oc;
+        this.buildConfigName = buildConfigName;
+        this.cacheImageStream = buildConfigName + "-build-cache";
+        this.maxTags = maxTags;
+    }
+
+    /**
+     * Returns {@code true} if an image built from the same artifact was found and tagged as the build output,
+     * in which case the build should be skipped.
+     */
+    boolean tryReuse(Optional<Path> nativeBinary, Path target) throws IOException, OpenShiftTestException {
+        BuildConfig buildConfig = oc.buildConfigs().withName(buildConfigName).get();
+        if (buildConfig == null) {
+            throw new OpenShiftTestException("Missing build config " + buildConfigName);
+        }
+        ObjectReference output = buildConfig.getSpec().getOutput().getTo();
+        if (output == null || !"ImageStreamTag".equals(output.getKind())) {
+            System.out.println(ansi().a("build cache not applicable to build config ").fgYellow().a(buildConfigName)
+                    .reset().a(", output is not an image stream tag"));
+            return false;
+        }
+        outputTag = output.getName();
+
+        if (nativeBinary.isPresent()) {
+            hash = hash(buildConfig, nativeBinary.get().getParent(), Collections.singletonList(nativeBinary.get()));
+        } else {
+            hash = hash(buildConfig, target, BinaryBuild.findIncludedFiles(target));
+        }
+
+        ImageStreamTag current = oc.imageStreamTags().withName(outputTag).get();
+        if (hasHash(current)) {
+            System.out.println(ansi().a("build cache ").fgGreen().a("hit").reset().a(", build skipped: image stream tag ")
+                    .fgYellow().a(outputTag).reset().a(" already contains image ").fgYellow()
+                    .a(current.getImage().getMetadata().getName()).reset().a(" built from artifact ")
+                    .fgYellow().a(shortHash()).reset());
+            return true;
+        }
+
+        ImageStreamTag cached = oc.imageStreamTags().withName(cacheTag()).get();
+        if (hasHash(cached)) {
+            tag(outputTag, imageStream(cacheTag()) + "@" + cached.getImage().getMetadata().getName(), null);
+            System.out.println(ansi().a("build cache ").fgGreen().a("hit").reset().a(", build skipped: reusing image ")
+                    .fgYellow().a(cached.getImage().getMetadata().getName()).reset().a(" built from artifact ")
+                    .fgYellow().a(shortHash()).reset());
+            return true;
+        }
+
+        System.out.println(ansi().a("build cache ").fgRed().a("miss").reset().a(" for artifact ")
+                .fgYellow().a(shortHash()).reset().a(", starting build"));
+        return false;
+    }
+
+    /**
+     * Stores the image that was just built into the cache. Only does something if {@link #tryReuse(Optional, Path)}
+     * was called before and returned {@code false} after computing the hash.
+     */
+    void store() {
+        if (hash == null) {
+            return;
+        }
+
+        ImageStreamTag built = oc.imageStreamTags().withName(outputTag).get();
+        if (built == null || built.getImage() == null) {
+            System.out.println(ansi().a("build cache: image stream tag ").fgYellow().a(outputTag).reset()
+                    .a(" not found, not caching"));
+            return;
+        }
+        String image = imageStream(outputTag) + "@" + built.getImage().getMetadata().getName();
+
+        if (oc.imageStreams().withName(cacheImageStream).get() == null) {
+            oc.imageStreams().create(new ImageStreamBuilder()
+                    .withNewMetadata()
+                    .withName(cacheImageStream)
+                    .endMetadata()
+                    .build());
+        }
+        tag(cacheTag(), image, Instant.now().toString());
+        oc.imageStreamTags().withName(outputTag).edit()
+                .editMetadata()
+                .addToAnnotations(HASH_ANNOTATION, hash)
+                .endMetadata()
+                .done();
+
+        System.out.println(ansi().a("build cache: stored image ").fgYellow().a(built.getImage().getMetadata().getName())
+                .reset().a(" for artifact ").fgYellow().a(shortHash()).reset());
+
+        prune();
+    }
+
+    // deletes the least recently stored cache tags over the limit
+    private void prune() {
+        String prefix = cacheImageStream + ":";
+        List<ImageStreamTag> cached = oc.imageStreamTags().list().getItems()
+                .stream()
+                .filter(tag -> tag.getMetadata().getName().startsWith(prefix))
+                .sorted(Comparator.comparing(BuildCache::storedAt).reversed())
+                .collect(Collectors.toList());
+        if (cached.size() <= maxTags) {
+            return;
+        }
+
+        List<ImageStreamTag> pruned = cached.subList(maxTags, cached.size());
+        for (ImageStreamTag tag : pruned) {
+            oc.imageStreamTags().withName(tag.getMetadata().getName()).delete();
+        }
+        System.out.println(ansi().a("build cache: deleted ").fgYellow().a(pruned.size()).reset()
+                .a(" least recently stored image(s) from image stream ").fgYellow().a(cacheImageStream).reset());
+    }
+
+    // tags without the annotation are older than all others
+    private static Instant storedAt(ImageStreamTag tag) {
+        Map<String, String> annotations = tag.getMetadata().getAnnotations();
+        String storedAt = annotations != null ? annotations.get(STORED_AT_ANNOTATION) : null;
+        return storedAt != null ? Instant.parse(storedAt) : Instant.EPOCH;
+    }
+
+    // `storedAt` is only set for tags in the cache image stream
+    private void tag(String imageStreamTag, String imageStreamImage, String storedAt) {
+        Map<String, String> annotations = new HashMap<>();
+        annotations.put(HASH_ANNOTATION, hash);
+        if (storedAt != null) {
+            annotations.put(STORED_AT_ANNOTATION, storedAt);
+        }
+
+        oc.imageStreamTags().createOrReplace(new ImageStreamTagBuilder()
+                .withNewMetadata()
+                .withName(imageStreamTag)
+                .addToAnnotations(annotations)
+                .endMetadata()
+                .withNewTag()
+                .withName(tagName(imageStreamTag))
+                .addToAnnotations(HASH_ANNOTATION, hash)
+                .withNewFrom()
+                .withKind("ImageStreamImage")
+                .withName(imageStreamImage)
+                .endFrom()
+                .endTag()
+                .build());
+    }
+
+    private boolean hasHash(ImageStreamTag tag) {
+        return tag != null
+                && tag.getImage() != null
+                && tag.getMetadata().getAnnotations() != null
+                && hash.equals(tag.getMetadata().getAnnotations().get(HASH_ANNOTATION));
+    }
+
+    private String cacheTag() {
+        return cacheImageStream + ":" + hash;
+    }
+
+    private String shortHash() {
+        return hash.substring(0, 12);
+    }
+
+    private static String imageStream(String imageStreamTag) {
+        return imageStreamTag.substring(0, imageStreamTag.indexOf(':'));
+    }
+
+    private static String tagName(String imageStreamTag) {
+        return imageStreamTag.substring(imageStreamTag.indexOf(':') + 1);
+    }
+
+    // the build strategy contains the builder image, so changing it invalidates the cache
+    private static String hash(BuildConfig buildConfig, Path root, List<Path> files) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        digest.update(Serialization.asJson(buildConfig.getSpec().getStrategy()).getBytes(StandardCharsets.UTF_8));
+
+        byte[] buffer = new byte[64 * 1024];
+        for (Path file : files) {
+            digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try (InputStream is = Files.newInputStream(file)) {
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (byte b : digest.digest()) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+}
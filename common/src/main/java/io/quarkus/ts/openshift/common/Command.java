@@ -1,23 +1,56 @@
 package io.quarkus.ts.openshift.common;
 
-import java.io.BufferedReader;
+import io.quarkus.ts.openshift.common.config.Config;
+
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.function.BiConsumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.fusesource.jansi.Ansi.ansi;
 
+/**
+ * External command, such as {@code oc}. The command can be run asynchronously ({@link #runAsync()}),
+ * so that independent commands run concurrently, or synchronously ({@link #runAndWait()}).
+ * <p>
+ * Output of the command (stdout and stderr combined) is printed to the console or written to a file,
+ * and the last 64 kB of it are captured into the {@link CommandResult}.
+ * Output is consumed by a thread pool shared by all commands.
+ * <p>
+ * If the command doesn't finish in time (30 minutes by default, configurable using
+ * {@code -Dts.command-timeout-seconds} or {@link #timeout(long, TimeUnit)}), it's killed.
+ */
 public class Command {
+    static final String TIMEOUT_CONFIG_KEY = "ts.command-timeout-seconds";
+
+    private static final int CAPTURED_OUTPUT_BYTES = 64 * 1024;
+    private static final long OUTPUT_DRAIN_TIMEOUT_SECONDS = 10;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "command-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final String description;
     private final List<String> command;
 
-    private BiConsumer<String, InputStream> outputConsumer = consoleOutput();
+    private OutputFactory output = Command::consoleOutput;
+    private long timeoutNanos = TimeUnit.SECONDS.toNanos(Config.get().getAsInt(TIMEOUT_CONFIG_KEY, 30 * 60));
 
     public Command(String... command) {
         this(Arrays.asList(command));
@@ -29,12 +62,17 @@ public class Command {
     }
 
     public Command outputToFile(File file) {
-        outputConsumer = fileOutput(file);
+        output = ignored -> new FileOutputStream(file);
         return this;
     }
 
     public Command outputToConsole() {
-        outputConsumer = consoleOutput();
+        output = Command::consoleOutput;
+        return this;
+    }
+
+    public Command timeout(long timeout, TimeUnit unit) {
+        this.timeoutNanos = unit.toNanos(timeout);
         return this;
     }
 
@@ -45,46 +83,193 @@ public class Command {
         return program;
     }
 
+    /**
+     * Runs the command and waits until it finishes.
+     *
+     * @throws RuntimeException if the command fails or times out
+     */
     public void runAndWait() throws IOException, InterruptedException {
-        System.out.println(ansi().a("running ").fgYellow().a(String.join(" ", command)).reset());
-        Process process = new ProcessBuilder()
-                .redirectErrorStream(true)
-                .command(command)
-                .directory(new File(".").getAbsoluteFile())
-                .start();
-
-        new Thread(() -> {
-            outputConsumer.accept(description, process.getInputStream());
-        }, "stdout consumer for command " + description).start();
-
-        int result = process.waitFor();
-        if (result != 0) {
-            throw new RuntimeException(description + " failed (executed " + command + ", return code " + result + ")");
+        CompletableFuture<CommandResult> future = runAsync();
+        CommandResult result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new RuntimeException(description + " failed (executed " + command + ")", cause);
+        }
+
+        if (!result.isSuccessful()) {
+            throw new RuntimeException(description + " failed (executed " + command + ", return code " + result.getExitCode() + ")");
         }
     }
 
-    private static final BiConsumer<String, InputStream> fileOutput(File targetFile) {
-        return (description, is) -> {
-            try (OutputStream outStream = new FileOutputStream(targetFile)) {
-                byte[] buffer = new byte[8 * 1024];
-                int bytesRead;
-                while ((bytesRead = is.read(buffer)) != -1) {
-                    outStream.write(buffer, 0, bytesRead);
+    /**
+     * Starts the command and returns a future that is completed when the command finishes, with its exit code
+     * and captured output. The future is completed exceptionally with {@link TimeoutException} if the command
+     * times out, and cancelling the future kills the command.
+     *
+     * @throws IOException if the output can't be opened or the command can't be started
+     */
+    public CompletableFuture<CommandResult> runAsync() throws IOException {
+        System.out.println(ansi().a("running ").fgYellow().a(String.join(" ", command)).reset());
+
+        CompletableFuture<CommandResult> result = new CompletableFuture<>();
+        long start = System.nanoTime();
+        OutputStream out = output.open(description);
+        Process process;
+        try {
+            process = new ProcessBuilder()
+                    .redirectErrorStream(true)
+                    .command(command)
+                    .directory(new File(".").getAbsoluteFile())
+                    .start();
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+
+        CapturedOutput captured = new CapturedOutput(CAPTURED_OUTPUT_BYTES);
+        CompletableFuture<Void> pump = CompletableFuture.runAsync(() -> pump(process.getInputStream(), out, captured), EXECUTOR);
+
+        EXECUTOR.execute(() -> {
+            try {
+                if (!process.waitFor(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    process.destroyForcibly();
+                    result.completeExceptionally(new TimeoutException(description + " didn't finish in "
+                            + TimeUnit.NANOSECONDS.toSeconds(timeoutNanos) + " seconds (executed " + command + ")"));
+                    return;
                 }
-            } catch (IOException ignored) {
+
+                try {
+                    // a child process might keep the output open even after the command itself finished
+                    pump.get(OUTPUT_DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (ExecutionException | TimeoutException ignored) {
+                }
+
+                result.complete(new CommandResult(command, process.exitValue(), captured.toString(),
+                        captured.isTruncated(), System.nanoTime() - start));
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                result.completeExceptionally(e);
             }
-        };
+        });
+
+        result.whenComplete((ignored, error) -> {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        });
+        return result;
+    }
+
+    private static void pump(InputStream input, OutputStream output, CapturedOutput captured) {
+        try (InputStream in = input; OutputStream out = output) {
+            byte[] buffer = new byte[8 * 1024];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                out.write(buffer, 0, bytesRead);
+                captured.write(buffer, 0, bytesRead);
+            }
+        } catch (IOException ignored) {
+        }
     }
 
-    private static final BiConsumer<String, InputStream> consoleOutput() {
-        return (description, is) -> {
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    System.out.println(ansi().fgCyan().a(description).reset().a("> ").a(line));
+    /**
+     * Runs given commands concurrently and returns a future that is completed when all of them finish.
+     */
+    public static CompletableFuture<List<CommandResult>> runAllAsync(List<Command> commands) throws IOException {
+        List<CompletableFuture<CommandResult>> futures = new ArrayList<>();
+        try {
+            for (Command command : commands) {
+                futures.add(command.runAsync());
+            }
+        } catch (IOException e) {
+            futures.forEach(it -> it.cancel(true));
+            throw e;
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<CommandResult> results = new ArrayList<>();
+                    for (CompletableFuture<CommandResult> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+    }
+
+    private static OutputStream consoleOutput(String description) {
+        return new OutputStream() {
+            private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+            @Override
+            public void write(int b) {
+                if (b == '\n') {
+                    flushLine();
+                } else {
+                    line.write(b);
                 }
-            } catch (IOException ignored) {
+            }
+
+            @Override
+            public void close() {
+                if (line.size() > 0) {
+                    flushLine();
+                }
+            }
+
+            private void flushLine() {
+                String text = new String(line.toByteArray(), StandardCharsets.UTF_8);
+                if (text.endsWith("\r")) {
+                    text = text.substring(0, text.length() - 1);
+                }
+                System.out.println(ansi().fgCyan().a(description).reset().a("> ").a(text));
+                line.reset();
             }
         };
     }
+
+    @FunctionalInterface
+    private interface OutputFactory {
+        OutputStream open(String description) throws IOException;
+    }
+
+    /**
+     * Keeps the last {@code capacity} bytes of the output.
+     */
+    private static final class CapturedOutput {
+        private final byte[] buffer;
+        private long written;
+
+        CapturedOutput(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        synchronized void write(byte[] bytes, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer[(int) ((written + i) % buffer.length)] = bytes[offset + i];
+            }
+            written += length;
+        }
+
+        synchronized boolean isTruncated() {
+            return written > buffer.length;
+        }
+
+        @Override
+        public synchronized String toString() {
+            int length = (int) Math.min(written, buffer.length);
+            byte[] result = new byte[length];
+            long from = written - length;
+            for (int i = 0; i < length; i++) {
+                result[i] = buffer[(int) ((from + i) % buffer.length)];
+            }
+            return new String(result, StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package io.quarkus.ts.openshift.common;
+
+import java.util.List;
+
+/**
+ * Result of a finished {@link Command}.
+ */
+public final class CommandResult {
+    private final List<String> command;
+    private final int exitCode;
+    private final String output;
+    private final boolean outputTruncated;
+    private final long durationNanos;
+
+    CommandResult(List<String> command, int exitCode, String output, boolean outputTruncated, long durationNanos) {
+        this.command = command;
+        this.exitCode = exitCode;
+        this.output = output;
+        this.outputTruncated = outputTruncated;
+        this.durationNanos = durationNanos;
+    }
+
+    public List<String> getCommand() {
+        return command;
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public boolean isSuccessful() {
+        return exitCode == 0;
+    }
+
+    /**
+     * Returns the captured output (stdout and stderr combined). Only the last part of the output is captured,
+     * see {@link #isOutputTruncated()}.
+     */
+    public String getOutput() {
+        return output;
+    }
+
+    public boolean isOutputTruncated() {
+        return outputTruncated;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+}
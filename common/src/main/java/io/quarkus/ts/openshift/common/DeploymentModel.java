@@ -0,0 +1,93 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.ImageOverrides.ImageOverridesConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory model of the application resources from {@code target/kubernetes/openshift.yml}.
+ * The file is parsed once per test class; image overrides and {@link CustomizeApplicationDeployment @CustomizeApplicationDeployment}
+ * methods modify the resources in place, and the resources are then deployed directly from memory.
+ * <p>
+ * Can be injected using {@link io.quarkus.ts.openshift.common.injection.TestResource @TestResource}.
+ * Changes made after the application is deployed have no effect.
+ */
+public final class DeploymentModel {
+    private final Path file;
+    private final List<HasMetadata> resources;
+
+    private DeploymentModel(Path file, List<HasMetadata> resources) {
+        this.file = file;
+        this.resources = resources;
+    }
+
+    static DeploymentModel load(DeploymentPipeline pipeline, Path file) throws OpenShiftTestException {
+        if (!Files.exists(file)) {
+            throw new OpenShiftTestException("Missing " + file + ", did you add the quarkus-kubernetes or quarkus-openshift extension?");
+        }
+
+        try {
+            return new DeploymentModel(file, new ArrayList<>(pipeline.load(file)));
+        } catch (IOException e) {
+            throw new OpenShiftTestException("Couldn't load " + file, e);
+        }
+    }
+
+    /**
+     * Returns the file from which the resources were loaded.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns a mutable list of all resources.
+     */
+    public List<HasMetadata> getResources() {
+        return resources;
+    }
+
+    /**
+     * Returns all resources of given {@code type}. The resources themselves are mutable,
+     * but adding to or removing from the returned list has no effect.
+     */
+    public <T extends HasMetadata> List<T> getResources(Class<T> type) {
+        return resources.stream()
+                .filter(type::isInstance)
+                .map(type::cast)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the resource of given {@code type} with given {@code name}, if it exists.
+     */
+    public <T extends HasMetadata> Optional<T> getResource(Class<T> type, String name) {
+        return getResources(type)
+                .stream()
+                .filter(it -> name.equals(it.getMetadata().getName()))
+                .findFirst();
+    }
+
+    void applyImageOverrides(OpenShiftClient oc) throws IOException {
+        replaceResources(ImageOverrides.apply(resources, oc));
+    }
+
+    void applyImageOverrides(ImageOverridesConfig config, OpenShiftClient oc) {
+        replaceResources(ImageOverrides.apply(resources, config, oc));
+    }
+
+    private void replaceResources(List<HasMetadata> overridden) {
+        if (overridden != resources) {
+            resources.clear();
+            resources.addAll(overridden);
+        }
+    }
+}
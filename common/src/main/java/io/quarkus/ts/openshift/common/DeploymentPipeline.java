@@ -0,0 +1,144 @@
+package io.quarkus.ts.openshift.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesList;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.config.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deploys and undeploys OpenShift resources using the {@link OpenShiftClient} that the test framework
+ * already has open. The resources as stored on the API server are returned, so they can be used for readiness
+ * tracking directly.
+ * <p>
+ * Like with {@code oc apply}, resources that don't exist are created, and existing resources are updated
+ * with a three-way merge of the last applied configuration, the live state and the new configuration
+ * (see {@link ThreeWayMerge}), so that fields set by the server or by controllers are kept. Resources that
+ * don't exist are created together, with a single resource list operation per namespace.
+ * <p>
+ * Resources are deleted in the background, see {@link AsyncTeardown}.
+ * <p>
+ * If {@code -Dts.use-oc-for-deployment} is set, the {@code oc} binary is used instead (that is,
+ * {@code oc apply} and {@code oc delete}).
+ */
+final class DeploymentPipeline {
+    static final String CONFIG_KEY = "ts.use-oc-for-deployment";
+
+    static boolean usesOc() {
+        return Config.get().getAsBoolean(CONFIG_KEY, false);
+    }
+
+    private final OpenShiftClient oc;
+    private final AsyncTeardown teardown;
+
+    DeploymentPipeline(OpenShiftClient oc, AsyncTeardown teardown) {
+        this.oc = oc;
+        this.teardown = teardown;
+    }
+
+    List<HasMetadata> load(InputStream yaml) throws IOException {
+        try (InputStream is = yaml) {
+            return oc.load(is).get();
+        }
+    }
+
+    List<HasMetadata> load(Path yaml) throws IOException {
+        return load(Files.newInputStream(yaml));
+    }
+
+    List<HasMetadata> apply(List<HasMetadata> resources) throws IOException, InterruptedException, OpenShiftTestException {
+        teardown.awaitConflicting(AsyncTeardown.deploymentKeys(oc.getNamespace(), resources));
+
+        if (usesOc()) {
+            runOc(resources, "apply", "-n", oc.getNamespace());
+            return resources;
+        }
+
+        ObjectMapper json = Serialization.jsonMapper();
+        HasMetadata[] result = new HasMetadata[resources.size()];
+        // resources that don't exist yet, grouped by namespace, mapped to their position in the result
+        Map<String, Map<Integer, HasMetadata>> toCreate = new LinkedHashMap<>();
+        for (int i = 0; i < resources.size(); i++) {
+            HasMetadata resource = resources.get(i);
+            String namespace = namespaceOf(resource);
+            ObjectNode desired = json.valueToTree(resource);
+
+            HasMetadata live = oc.resource(resource).inNamespace(namespace).fromServer().get();
+            if (live == null) {
+                HasMetadata created = json.treeToValue(ThreeWayMerge.forCreate(desired), resource.getClass());
+                toCreate.computeIfAbsent(namespace, ignored -> new LinkedHashMap<>()).put(i, created);
+                continue;
+            }
+
+            HasMetadata merged = json.treeToValue(ThreeWayMerge.merge(json.valueToTree(live), desired), resource.getClass());
+            // there's no generic patch in the client, so the merged resource replaces the live one
+            result[i] = oc.resource(merged).inNamespace(namespace).createOrReplace();
+        }
+
+        for (Map.Entry<String, Map<Integer, HasMetadata>> entry : toCreate.entrySet()) {
+            List<Integer> positions = new ArrayList<>(entry.getValue().keySet());
+            // the resource list operation has no plain create, but these resources don't exist
+            List<HasMetadata> created = oc.resourceList(new ArrayList<>(entry.getValue().values()))
+                    .inNamespace(entry.getKey())
+                    .createOrReplace();
+            for (int i = 0; i < positions.size(); i++) {
+                result[positions.get(i)] = created.get(i);
+            }
+        }
+
+        return Arrays.asList(result);
+    }
+
+    private String namespaceOf(HasMetadata resource) {
+        return resource.getMetadata().getNamespace() != null ? resource.getMetadata().getNamespace() : oc.getNamespace();
+    }
+
+    /**
+     * Queues deletion of given {@code resources}, see {@link AsyncTeardown}.
+     */
+    void delete(List<HasMetadata> resources) throws Exception {
+        String namespace = oc.getNamespace();
+        String description = "deleting " + resources.size() + " resources from namespace " + namespace;
+        teardown.submit(description, AsyncTeardown.keys(namespace, resources), client -> {
+            if (usesOc()) {
+                runOc(resources, "delete", "--ignore-not-found", "-n", namespace);
+                return;
+            }
+
+            client.resourceList(resources).inNamespace(namespace).delete();
+        });
+    }
+
+    private static void runOc(List<HasMetadata> resources, String... args) throws IOException, InterruptedException {
+        Path file = Files.createTempFile("resources", ".yml");
+        try {
+            KubernetesList list = new KubernetesList();
+            list.setItems(resources);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                Serialization.yamlMapper().writeValue(out, list);
+            }
+
+            List<String> command = new ArrayList<>();
+            command.add("oc");
+            command.addAll(Arrays.asList(args));
+            command.add("-f");
+            command.add(file.toString());
+            new Command(command).runAndWait();
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
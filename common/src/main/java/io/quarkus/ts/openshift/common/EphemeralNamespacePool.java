@@ -0,0 +1,198 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.openshift.api.model.ProjectRequestBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.config.Config;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.awaitility.Awaitility.await;
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Pool of ephemeral namespaces that are created in the background before they are needed,
+ * so that a test class doesn't have to wait for project creation. Used namespaces are also deleted
+ * in the background, so that the next test class doesn't have to wait for project termination.
+ * <p>
+ * Enabled by setting {@code -Dts.ephemeral-namespace-pool-size} to a positive number, together with
+ * {@code -Dts.use-ephemeral-namespaces}. The pool lives for the whole test run; when it's closed,
+ * unused namespaces are deleted, pending deletions are awaited and pool metrics are printed.
+ */
+final class EphemeralNamespacePool implements CloseableResource {
+    static final String CONFIG_KEY = "ts.ephemeral-namespace-pool-size";
+
+    private static final long NAMESPACE_READY_TIMEOUT_MINUTES = 5;
+    private static final long BUILDER_POLL_INTERVAL_MILLIS = 250;
+    private static final long CLOSE_TIMEOUT_MINUTES = 10;
+
+    static int size() {
+        return Config.get().getAsInt(CONFIG_KEY, 0);
+    }
+
+    static boolean isEnabled() {
+        return EphemeralNamespace.isEnabled() && size() > 0;
+    }
+
+    private final OpenShiftClientResource client;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ephemeral namespace pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BlockingDeque<CompletableFuture<EphemeralNamespace>> available = new LinkedBlockingDeque<>();
+    private final List<CompletableFuture<?>> deletions = new ArrayList<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger waits = new AtomicInteger();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicLong creationNanos = new AtomicLong();
+    private final AtomicLong maxCreationNanos = new AtomicLong();
+
+    EphemeralNamespacePool(SharedOpenShiftClient sharedClient) {
+        this(sharedClient, size());
+    }
+
+    // the size is configurable directly for tests
+    EphemeralNamespacePool(SharedOpenShiftClient sharedClient, int size) {
+        this.client = sharedClient.forTestClass("ephemeral namespace pool", null);
+        System.out.println(ansi().a("pre-creating ").fgYellow().a(size).reset().a(" ephemeral namespaces"));
+        for (int i = 0; i < size; i++) {
+            replenish();
+        }
+    }
+
+    /**
+     * Returns a namespace from the pool, waiting for one to be created if necessary, and makes it
+     * the current project (so that {@code oc} and newly created clients use it), unless {@link ParallelSafeMode}
+     * is enabled.
+     */
+    EphemeralNamespace acquire() throws IOException, InterruptedException, OpenShiftTestException {
+        CompletableFuture<EphemeralNamespace> next = available.take();
+        replenish();
+
+        EphemeralNamespace namespace;
+        try {
+            if (next.isDone()) {
+                hits.incrementAndGet();
+                namespace = next.get();
+            } else {
+                long start = System.nanoTime();
+                System.out.println("waiting for an ephemeral namespace from the pool");
+                namespace = next.get();
+                waits.incrementAndGet();
+                waitNanos.addAndGet(System.nanoTime() - start);
+            }
+        } catch (ExecutionException e) {
+            throw new OpenShiftTestException("Couldn't create ephemeral namespace", e.getCause());
+        }
+
+        if (!ParallelSafeMode.isEnabled()) {
+            new Command("oc", "project", namespace.name).runAndWait();
+        }
+        return namespace;
+    }
+
+    /**
+     * Deletes given {@code namespace} in the background.
+     */
+    void release(EphemeralNamespace namespace) {
+        CompletableFuture<Void> deletion = CompletableFuture.runAsync(() -> delete(namespace.name), executor);
+        synchronized (deletions) {
+            deletions.add(deletion);
+        }
+    }
+
+    private void replenish() {
+        available.add(CompletableFuture.supplyAsync(this::create, executor));
+    }
+
+    private EphemeralNamespace create() {
+        long start = System.nanoTime();
+        EphemeralNamespace namespace = EphemeralNamespace.newWithRandomName();
+        OpenShiftClient oc = client.client;
+        oc.projectrequests().create(new ProjectRequestBuilder()
+                .withNewMetadata()
+                .withName(namespace.name)
+                .endMetadata()
+                .build());
+        // the project is only usable for builds after the controllers create the builder service account;
+        // polled, because `waitUntilCondition` misses the service account if it's created between its get and watch
+        await().pollInterval(BUILDER_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)
+                .atMost(NAMESPACE_READY_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .until(() -> oc.serviceAccounts().inNamespace(namespace.name).withName("builder").get() != null);
+
+        long duration = System.nanoTime() - start;
+        created.incrementAndGet();
+        creationNanos.addAndGet(duration);
+        maxCreationNanos.accumulateAndGet(duration, Math::max);
+        return namespace;
+    }
+
+    private void delete(String namespace) {
+        try {
+            client.client.projects().withName(namespace).delete();
+        } catch (Exception e) {
+            System.out.println(ansi().a("failed deleting ephemeral namespace ").fgYellow().a(namespace).reset()
+                    .a(": " + e.getMessage()));
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (CompletableFuture<EphemeralNamespace> unused : available) {
+                try {
+                    release(unused.get(CLOSE_TIMEOUT_MINUTES, TimeUnit.MINUTES));
+                } catch (ExecutionException | TimeoutException ignored) {
+                    // namespace wasn't created, nothing to delete
+                }
+            }
+
+            List<CompletableFuture<?>> pending;
+            synchronized (deletions) {
+                pending = new ArrayList<>(deletions);
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).get(CLOSE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.out.println("failed waiting for ephemeral namespaces to be deleted: " + e.getMessage());
+        }
+
+        executor.shutdownNow();
+        client.close();
+
+        printMetrics();
+    }
+
+    private void printMetrics() {
+        int acquired = hits.get() + waits.get();
+        System.out.println(ansi().a("ephemeral namespace pool: ")
+                .fgYellow().a(acquired).reset().a(" acquired, ")
+                .fgYellow().a(hits.get()).reset().a(" hits, ")
+                .fgYellow().a(waits.get()).reset().a(" waits")
+                .a(waits.get() > 0 ? " (average " + formatDuration(waitNanos.get() / waits.get()) + ")" : "")
+                .a(", ").fgYellow().a(created.get()).reset().a(" created")
+                .a(created.get() > 0 ? " (average " + formatDuration(creationNanos.get() / created.get())
+                        + ", max " + formatDuration(maxCreationNanos.get()) + ")" : ""));
+    }
+
+    private static String formatDuration(long nanos) {
+        return String.format("%.1f s", nanos / 1_000_000_000.0);
+    }
+}
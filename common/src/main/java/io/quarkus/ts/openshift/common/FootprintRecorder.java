@@ -0,0 +1,299 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.ContainerMetrics;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.config.Config;
+import io.quarkus.ts.openshift.common.util.LoadResult;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Samples CPU and memory usage of all pods in the namespace from the {@code metrics.k8s.io} API during the whole
+ * test class. Enabled with {@code -Dts.record-footprint}, the interval is {@code -Dts.record-footprint-interval-millis}
+ * (5 seconds by default). Memory is the working set, which is what the metrics API reports, and CPU usage
+ * is averaged by the metrics server over its own window.
+ * <p>
+ * When the test class finishes, the time series of each pod is written into
+ * {@code target/footprint/[test class]/[pod].csv}, and a summary of each pod (peak, 95th percentile and idle usage)
+ * is appended to {@code target/ts-footprint.jsonl}, which is merged into the performance report,
+ * see {@link PerformanceReport}.
+ * <p>
+ * Idle usage is the median of samples taken while no load from the {@link io.quarkus.ts.openshift.common.util.LoadGenerator
+ * LoadGenerator} was running. Samples taken during load are used to compute memory per throughput (MB per req/s).
+ */
+final class FootprintRecorder implements CloseableResource {
+    static final String CONFIG_KEY = "ts.record-footprint";
+    static final String INTERVAL_CONFIG_KEY = "ts.record-footprint-interval-millis";
+
+    static final Path FILE = Paths.get("target", "ts-footprint.jsonl");
+
+    private static final Path OUTPUT_DIRECTORY = Paths.get("target", "footprint");
+    private static final Object FILE_LOCK = new Object();
+
+    static boolean isEnabled() {
+        return Config.get().getAsBoolean(CONFIG_KEY, false);
+    }
+
+    static final class Sample {
+        final long timeMillis;
+        final double cpuMillicores;
+        final double memoryMb;
+
+        Sample(long timeMillis, double cpuMillicores, double memoryMb) {
+            this.timeMillis = timeMillis;
+            this.cpuMillicores = cpuMillicores;
+            this.memoryMb = memoryMb;
+        }
+    }
+
+    static final class LoadWindow {
+        final long startMillis;
+        final long endMillis;
+        final double throughput;
+
+        LoadWindow(long startMillis, long endMillis, double throughput) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.throughput = throughput;
+        }
+
+        boolean contains(long timeMillis) {
+            return timeMillis >= startMillis && timeMillis <= endMillis;
+        }
+    }
+
+    private final OpenShiftClient oc;
+    private final String module;
+    private final String testClass;
+    private final String className;
+    private final long intervalMillis;
+
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "footprint-recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // pod -> samples, only modified on the sampler thread
+    private final Map<String, List<Sample>> samples = new LinkedHashMap<>();
+    // pod -> timestamp of the last metrics, which the metrics server only updates once per its window
+    private final Map<String, String> lastTimestamps = new HashMap<>();
+    // sum of all pods in each sampling round
+    private final List<Double> totalMemoryMb = new ArrayList<>();
+    private final List<LoadWindow> loads = new CopyOnWriteArrayList<>();
+
+    private boolean stopped;
+    private boolean written;
+
+    FootprintRecorder(OpenShiftClient oc, String module, String testClass, String className) {
+        this.oc = oc;
+        this.module = module;
+        this.testClass = testClass;
+        this.className = className;
+        this.intervalMillis = Config.get().getAsInt(INTERVAL_CONFIG_KEY, 5_000);
+    }
+
+    void start() {
+        System.out.println(ansi().a("recording footprint of pods in ").fgYellow().a(oc.getNamespace()).reset()
+                .a(" every ").a(intervalMillis).a(" ms"));
+        sampler.scheduleAtFixedRate(this::sample, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void loadFinished(LoadResult result) {
+        long endMillis = result.getStartMillis() + TimeUnit.NANOSECONDS.toMillis(result.getDurationNanos());
+        loads.add(new LoadWindow(result.getStartMillis(), endMillis, result.getThroughput()));
+    }
+
+    private void sample() {
+        List<PodMetrics> metrics;
+        try {
+            metrics = oc.top().pods().metrics(oc.getNamespace()).getItems();
+        } catch (KubernetesClientException e) {
+            // typically, the metrics server isn't installed or the user isn't allowed to access it
+            System.out.println(ansi().a("couldn't get pod metrics, stopping footprint recording: ").fgRed()
+                    .a(e.getMessage()).reset());
+            sampler.shutdown();
+            return;
+        } catch (RuntimeException e) {
+            // an exception would cancel all future sampling
+            System.out.println(ansi().a("couldn't get pod metrics: ").fgRed().a(e.getMessage()).reset());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+
+            double total = 0;
+            boolean updated = false;
+            for (PodMetrics pod : metrics) {
+                String name = pod.getMetadata().getName();
+                double cpu = 0;
+                double memory = 0;
+                for (ContainerMetrics container : pod.getContainers()) {
+                    cpu += amount(container.getUsage(), "cpu") * 1000;
+                    memory += amount(container.getUsage(), "memory") / (1024 * 1024);
+                }
+                total += memory;
+
+                if (pod.getTimestamp() != null && pod.getTimestamp().equals(lastTimestamps.put(name, pod.getTimestamp()))) {
+                    continue;
+                }
+                samples.computeIfAbsent(name, ignored -> new ArrayList<>()).add(new Sample(now, cpu, memory));
+                updated = true;
+            }
+            if (updated) {
+                totalMemoryMb.add(total);
+            }
+        }
+    }
+
+    private static double amount(Map<String, Quantity> usage, String resource) {
+        Quantity quantity = usage != null ? usage.get(resource) : null;
+        return quantity != null ? Quantity.getAmountInBytes(quantity).doubleValue() : 0;
+    }
+
+    /**
+     * Stops sampling. Samples are written when this recorder is {@linkplain #close() closed}.
+     */
+    void stop() {
+        sampler.shutdownNow();
+        synchronized (this) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * Peak memory usage of all pods in the namespace together, or {@code -1} if there are no samples.
+     */
+    synchronized double peakTotalMemoryMb() {
+        return totalMemoryMb.stream().mapToDouble(Double::doubleValue).max().orElse(-1);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        stop();
+        if (written || samples.isEmpty()) {
+            return;
+        }
+        written = true;
+
+        Path directory = OUTPUT_DIRECTORY.resolve(className);
+        Files.createDirectories(directory);
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        for (Map.Entry<String, List<Sample>> pod : samples.entrySet()) {
+            writeTimeSeries(directory.resolve(pod.getKey() + ".csv"), pod.getValue());
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("module", module);
+            summary.put("testClass", testClass);
+            summary.put("className", className);
+            summary.put("pod", pod.getKey());
+            summary.putAll(summarize(pod.getValue(), loads));
+            summaries.add(summary);
+        }
+
+        // test classes running concurrently write into the same file
+        synchronized (FILE_LOCK) {
+            Files.createDirectories(FILE.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(FILE, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Map<String, Object> summary : summaries) {
+                    writer.write(Serialization.jsonMapper().writeValueAsString(summary));
+                    writer.newLine();
+                }
+            }
+        }
+
+        System.out.println(ansi().a("footprint of ").a(samples.size()).a(samples.size() == 1 ? " pod" : " pods")
+                .a(" written to ").fgYellow().a(directory).reset());
+    }
+
+    private static void writeTimeSeries(Path file, List<Sample> samples) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("timestamp,cpu_millicores,memory_mb");
+            writer.newLine();
+            for (Sample sample : samples) {
+                writer.write(String.format("%d,%.1f,%.1f", sample.timeMillis, sample.cpuMillicores, sample.memoryMb));
+                writer.newLine();
+            }
+        }
+    }
+
+    static Map<String, Object> summarize(List<Sample> samples, List<LoadWindow> loads) {
+        List<Double> memory = new ArrayList<>();
+        List<Double> cpu = new ArrayList<>();
+        List<Double> idleMemory = new ArrayList<>();
+        List<Double> idleCpu = new ArrayList<>();
+        List<Double> loadMemory = new ArrayList<>();
+        List<Double> loadThroughput = new ArrayList<>();
+        for (Sample sample : samples) {
+            memory.add(sample.memoryMb);
+            cpu.add(sample.cpuMillicores);
+
+            LoadWindow load = loads.stream().filter(it -> it.contains(sample.timeMillis)).findFirst().orElse(null);
+            if (load == null) {
+                idleMemory.add(sample.memoryMb);
+                idleCpu.add(sample.cpuMillicores);
+            } else {
+                loadMemory.add(sample.memoryMb);
+                loadThroughput.add(load.throughput);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("samples", samples.size());
+        result.put("peakMemoryMb", percentile(memory, 100));
+        result.put("p95MemoryMb", percentile(memory, 95));
+        result.put("idleMemoryMb", percentile(idleMemory, 50));
+        result.put("peakCpuMillicores", percentile(cpu, 100));
+        result.put("p95CpuMillicores", percentile(cpu, 95));
+        result.put("idleCpuMillicores", percentile(idleCpu, 50));
+        if (!loadMemory.isEmpty()) {
+            double meanMemory = loadMemory.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            double meanThroughput = loadThroughput.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            result.put("loadMemoryMb", meanMemory);
+            result.put("loadThroughput", meanThroughput);
+            if (meanThroughput > 0) {
+                result.put("memoryMbPerRps", meanMemory / meanThroughput);
+            }
+        }
+        return result;
+    }
+
+    // nearest-rank, -1 if there are no values
+    private static double percentile(List<Double> values, double percentile) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(rank, sorted.size()) - 1));
+    }
+}
@@ -3,8 +3,6 @@ package io.quarkus.ts.openshift.common;
 import io.fabric8.kubernetes.api.builder.TypedVisitor;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.HasMetadata;
-import io.fabric8.kubernetes.api.model.KubernetesList;
-import io.fabric8.kubernetes.client.utils.Serialization;
 import io.fabric8.openshift.api.model.ImageStreamSpecBuilder;
 import io.fabric8.openshift.api.model.TagReferenceBuilder;
 import io.fabric8.openshift.client.OpenShiftClient;
@@ -12,25 +10,47 @@ import io.quarkus.ts.openshift.common.config.Config;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 final class ImageOverrides {
     static final String CONFIG_KEY = "ts.image-overrides";
 
-    static void apply(Path yaml, OpenShiftClient oc) throws IOException {
+    // the config file is only loaded once per JVM and shared by all tests
+    private static final Map<Path, ImageOverridesConfig> LOADED_CONFIGS = new ConcurrentHashMap<>();
+
+    static ImageOverridesConfig loadConfig(Path file) throws IOException {
+        try {
+            return LOADED_CONFIGS.computeIfAbsent(file.toAbsolutePath(), path -> {
+                try {
+                    return ImageOverridesConfig.load(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static List<HasMetadata> apply(List<HasMetadata> resources, OpenShiftClient oc) throws IOException {
         String configFile = Config.get().getAsString(CONFIG_KEY, null);
         if (configFile == null) {
-            return;
+            return resources;
         }
 
-        ImageOverridesConfig config = ImageOverridesConfig.load(Paths.get(configFile));
+        return apply(resources, loadConfig(Paths.get(configFile)), oc);
+    }
 
-        List<HasMetadata> objs = oc.load(Files.newInputStream(yaml))
+    static List<HasMetadata> apply(List<HasMetadata> resources, ImageOverridesConfig config, OpenShiftClient oc) {
+        return oc.resourceList(resources)
                 .accept(new TypedVisitor<ContainerBuilder>() {
                     @Override
                     public void visit(ContainerBuilder c) {
@@ -57,46 +77,118 @@ final class ImageOverrides {
                     }
                 })
                 .get();
-
-        KubernetesList list = new KubernetesList();
-        list.setItems(objs);
-        Serialization.yamlMapper().writeValue(Files.newOutputStream(yaml), list);
     }
 
-    private static class ImageOverridesConfig {
-        private final Map<String, String> data;
+    /**
+     * Image overrides, compiled from a config file where each line has the form {@code key=value}.
+     * The key is matched against the image as follows, and the first matching rule wins:
+     * <ol>
+     *     <li>exact match of the whole image, e.g. {@code registry.example.com/ns/image:1.0};</li>
+     *     <li>exact match of the image without tag or digest, e.g. {@code registry.example.com/ns/image};</li>
+     *     <li>the longest matching prefix rule, e.g. {@code registry.example.com/*=mirror.local/*} changes
+     *     {@code registry.example.com/ns/image:1.0} to {@code mirror.local/ns/image:1.0}. Prefix rules always
+     *     match whole path segments, and a single {@code *} matches all images.</li>
+     * </ol>
+     * Exact rules are kept in a hash map and prefix rules in a trie over path segments, so a lookup
+     * never iterates over all rules.
+     */
+    static final class ImageOverridesConfig {
+        private static final String WILDCARD = "*";
+
+        private final Map<String, String> exact = new HashMap<>();
+        private final PrefixNode prefixes = new PrefixNode();
 
         static ImageOverridesConfig load(Path path) throws IOException {
             try (BufferedReader reader = Files.newBufferedReader(path)) {
-                Map<String, String> data = reader.lines()
-                        .map(String::trim)
-                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
-                        .map(line -> line.split("=", 2))
-                        .collect(Collectors.toMap(splitLine -> splitLine[0].trim(), splitLine -> splitLine[1].trim()));
-                return new ImageOverridesConfig(data);
+                return parse(reader.lines());
             }
         }
 
-        private ImageOverridesConfig(Map<String, String> data) {
-            this.data = data;
+        static ImageOverridesConfig parse(Stream<String> lines) {
+            ImageOverridesConfig result = new ImageOverridesConfig();
+            lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(line -> line.split("=", 2))
+                    .forEach(splitLine -> result.add(splitLine[0].trim(), splitLine[1].trim()));
+            return result;
+        }
+
+        private ImageOverridesConfig() {
+        }
+
+        private void add(String key, String value) {
+            if (key.equals(WILDCARD) || key.endsWith("/" + WILDCARD)) {
+                String prefix = key.substring(0, key.length() - WILDCARD.length());
+                String replacement = value.endsWith("/" + WILDCARD)
+                        ? value.substring(0, value.length() - WILDCARD.length())
+                        : value + "/";
+
+                PrefixNode node = prefixes;
+                int start = 0;
+                int slash;
+                while ((slash = prefix.indexOf('/', start)) >= 0) {
+                    node = node.children.computeIfAbsent(prefix.substring(start, slash), ignored -> new PrefixNode());
+                    start = slash + 1;
+                }
+                node.replacement = replacement;
+            } else {
+                exact.put(key, value);
+            }
         }
 
         String overrideFor(String image) {
-            if (data.containsKey(image)) {
-                return data.get(image);
+            String result = exact.get(image);
+            if (result != null) {
+                return result;
             }
 
-            String imageWithoutTag = image;
-            if (image.contains(":")) {
-                imageWithoutTag = image.substring(0, image.lastIndexOf(":"));
+            result = exact.get(withoutTagOrDigest(image));
+            if (result != null) {
+                return result;
             }
 
-            if (data.containsKey(imageWithoutTag)) {
-                return data.get(imageWithoutTag);
+            return overridePrefix(image);
+        }
+
+        private String overridePrefix(String image) {
+            PrefixNode node = prefixes;
+            String replacement = node.replacement;
+            int matchedLength = 0;
+
+            int start = 0;
+            int slash;
+            while ((slash = image.indexOf('/', start)) >= 0) {
+                node = node.children.get(image.substring(start, slash));
+                if (node == null) {
+                    break;
+                }
+                start = slash + 1;
+                if (node.replacement != null) {
+                    replacement = node.replacement;
+                    matchedLength = start;
+                }
             }
 
+            return replacement != null ? replacement + image.substring(matchedLength) : image;
+        }
+
+        private static String withoutTagOrDigest(String image) {
+            int lastSlash = image.lastIndexOf('/');
+            int digest = image.indexOf('@', lastSlash + 1);
+            if (digest >= 0) {
+                return image.substring(0, digest);
+            }
+            // a colon before the last slash separates registry host and port
+            int tag = image.indexOf(':', lastSlash + 1);
+            if (tag >= 0) {
+                return image.substring(0, tag);
+            }
             return image;
         }
 
+        private static final class PrefixNode {
+            final Map<String, PrefixNode> children = new HashMap<>();
+            String replacement;
+        }
     }
 }
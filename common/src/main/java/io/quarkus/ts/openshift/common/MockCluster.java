@@ -0,0 +1,125 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.mockwebserver.Context;
+import io.fabric8.openshift.client.NamespacedOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfig;
+import io.fabric8.openshift.client.OpenShiftConfigBuilder;
+import io.fabric8.openshift.client.server.mock.OpenShiftMockServer;
+import io.quarkus.ts.openshift.common.config.Config;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Local stand-in for an OpenShift cluster, enabled with {@code -Dts.mock-cluster}. It's the Fabric8 OpenShift mock
+ * server in CRUD mode, with a little bit of simulated controller behavior (see {@link MockClusterDispatcher}),
+ * plus an HTTP server that stands in for the deployed application and responds with HTTP 200 to any request.
+ * <p>
+ * Workloads become ready after {@code -Dts.mock-cluster.ready-delay-millis} and builds finish after
+ * {@code -Dts.mock-cluster.build-delay-millis}; both are 0 by default, so that only the overhead
+ * of the test framework itself is left.
+ * <p>
+ * There's a single mock cluster per JVM. It's started by the first user and stopped when the last user closes it.
+ */
+final class MockCluster implements CloseableResource {
+    static final String CONFIG_KEY = "ts.mock-cluster";
+    static final String READY_DELAY_CONFIG_KEY = "ts.mock-cluster.ready-delay-millis";
+    static final String BUILD_DELAY_CONFIG_KEY = "ts.mock-cluster.build-delay-millis";
+
+    private static final String NAMESPACE = "test";
+
+    static boolean isEnabled() {
+        return Config.get().getAsBoolean(CONFIG_KEY, false);
+    }
+
+    private static MockCluster instance;
+    private static int users;
+
+    /**
+     * Returns the mock cluster, starting it if necessary. Each call must be paired with a call to {@link #close()}.
+     */
+    static synchronized MockCluster acquire() {
+        if (instance == null) {
+            instance = new MockCluster();
+        }
+        users++;
+        return instance;
+    }
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mock-cluster");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final MockWebServer app = new MockWebServer();
+    private final OpenShiftMockServer server;
+    private final OpenShiftConfig config;
+
+    private MockCluster() {
+        try {
+            app.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse().setResponseCode(200).setBody("OK");
+                }
+            });
+            app.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Config tsConfig = Config.get();
+        MockClusterDispatcher dispatcher = new MockClusterDispatcher(scheduler, app.getHostName() + ":" + app.getPort(),
+                tsConfig.getAsInt(READY_DELAY_CONFIG_KEY, 0), tsConfig.getAsInt(BUILD_DELAY_CONFIG_KEY, 0));
+        server = new OpenShiftMockServer(new Context(), new MockWebServer(), new HashMap<>(), dispatcher, false);
+        server.init();
+
+        try (NamespacedOpenShiftClient client = server.createOpenShiftClient()) {
+            config = new OpenShiftConfigBuilder(OpenShiftConfig.wrap(client.getConfiguration()))
+                    .withNamespace(NAMESPACE)
+                    .build();
+        }
+
+        System.out.println(ansi().a("using mock cluster at ").fgYellow().a(config.getMasterUrl()).reset());
+    }
+
+    /**
+     * Returns a client configuration pointing to the mock cluster, bound to given {@code namespace}
+     * (if {@code null}, the default namespace of the mock cluster is used).
+     */
+    OpenShiftConfig config(String namespace) {
+        if (namespace == null) {
+            return config;
+        }
+        return new OpenShiftConfigBuilder(config)
+                .withNamespace(namespace)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        synchronized (MockCluster.class) {
+            if (--users > 0) {
+                return;
+            }
+            instance = null;
+        }
+
+        scheduler.shutdownNow();
+        server.destroy();
+        try {
+            app.shutdown();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package io.quarkus.ts.openshift.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * CRUD dispatcher of the {@link MockCluster} that also simulates what OpenShift controllers would do:
+ * <ul>
+ * <li>workloads ({@code DeploymentConfig}, {@code Deployment}, {@code StatefulSet}) become ready after
+ * a delay, as if all their pods started;</li>
+ * <li>services get ready {@code Endpoints} after the same delay;</li>
+ * <li>project requests create the project, and its {@code builder} service account after the same delay;</li>
+ * <li>routes are exposed on the local stand-in of the application;</li>
+ * <li>image streams without tags get the {@code latest} tag;</li>
+ * <li>binary builds are accepted and complete after a delay;</li>
+ * <li>the {@code metrics.k8s.io} API reports synthetic CPU and memory usage of one pod per ready replica.</li>
+ * </ul>
+ * All state changes go through the CRUD dispatcher, so that watches are notified.
+ */
+final class MockClusterDispatcher extends KubernetesCrudDispatcher {
+    private static final Pattern NAMESPACE = Pattern.compile("/namespaces/([^/?]+)/");
+    private static final Pattern INSTANTIATE_BINARY = Pattern.compile(
+            "^/apis/build\\.openshift\\.io/v1/namespaces/([^/]+)/buildconfigs/([^/?]+)/instantiatebinary");
+    private static final Pattern BUILD_LOG = Pattern.compile(
+            "^/apis/build\\.openshift\\.io/v1/namespaces/([^/]+)/builds/([^/?]+)/log");
+    private static final Pattern POD_METRICS = Pattern.compile(
+            "^/apis/metrics\\.k8s\\.io/v1beta1/namespaces/([^/]+)/pods/?(\\?|$)");
+
+    private final ObjectMapper json = Serialization.jsonMapper();
+    private final ScheduledExecutorService scheduler;
+    private final String appHost;
+    private final long readyDelayMillis;
+    private final long buildDelayMillis;
+
+    // build config -> last build number
+    private final Map<String, AtomicInteger> builds = new ConcurrentHashMap<>();
+    private final AtomicInteger metricsRequests = new AtomicInteger();
+
+    MockClusterDispatcher(ScheduledExecutorService scheduler, String appHost, long readyDelayMillis, long buildDelayMillis) {
+        this.scheduler = scheduler;
+        this.appHost = appHost;
+        this.readyDelayMillis = readyDelayMillis;
+        this.buildDelayMillis = buildDelayMillis;
+    }
+
+    @Override
+    public synchronized MockResponse dispatch(RecordedRequest request) {
+        String method = request.getMethod();
+        String path = request.getPath();
+
+        Matcher instantiateBinary = INSTANTIATE_BINARY.matcher(path);
+        if ("POST".equals(method) && instantiateBinary.find()) {
+            return instantiateBinary(instantiateBinary.group(1), instantiateBinary.group(2));
+        }
+        if ("GET".equals(method) && BUILD_LOG.matcher(path).find()) {
+            return new MockResponse().setResponseCode(200).setBody("build simulated by the mock cluster\n");
+        }
+        Matcher podMetrics = POD_METRICS.matcher(path);
+        if ("GET".equals(method) && podMetrics.find()) {
+            return podMetrics(podMetrics.group(1));
+        }
+
+        if ("POST".equals(method) || "PUT".equals(method)) {
+            ObjectNode resource = parse(request.getBody().readUtf8());
+            if (resource == null || !resource.hasNonNull("kind")) {
+                return new MockResponse().setResponseCode(400);
+            }
+
+            String kind = resource.get("kind").asText();
+            String name = resource.path("metadata").path("name").asText();
+            onWrite(kind, resource);
+
+            String collectionPath = stripQuery(path);
+            MockResponse response;
+            String itemPath;
+            if ("POST".equals(method)) {
+                response = handleCreate(collectionPath, resource.toString());
+                itemPath = collectionPath + "/" + name;
+            } else {
+                response = handleReplace(collectionPath, resource.toString());
+                itemPath = collectionPath;
+            }
+            if (response.getStatus().contains(" 20")) {
+                simulateController(kind, name, namespace(path), itemPath, resource);
+            }
+            return response;
+        }
+
+        return super.dispatch(request);
+    }
+
+    // binary builds are uploaded with `Expect: 100-continue`
+    @Override
+    public MockResponse peek() {
+        return new MockResponse().setSocketPolicy(SocketPolicy.EXPECT_CONTINUE);
+    }
+
+    private MockResponse instantiateBinary(String namespace, String buildConfig) {
+        int number = builds.computeIfAbsent(namespace + "/" + buildConfig, ignored -> new AtomicInteger()).incrementAndGet();
+        String name = buildConfig + "-" + number;
+        String collectionPath = "/apis/build.openshift.io/v1/namespaces/" + namespace + "/builds";
+
+        ObjectNode build = json.createObjectNode();
+        build.put("apiVersion", "build.openshift.io/v1");
+        build.put("kind", "Build");
+        ObjectNode metadata = build.putObject("metadata");
+        metadata.put("name", name);
+        metadata.put("namespace", namespace);
+        metadata.putObject("labels").put("buildconfig", buildConfig);
+        build.putObject("status").put("phase", "Running");
+
+        MockResponse response = handleCreate(collectionPath, build.toString());
+        schedule(buildDelayMillis, collectionPath + "/" + name,
+                current -> ((ObjectNode) current.path("status")).put("phase", "Complete"));
+        return response;
+    }
+
+    private MockResponse podMetrics(String namespace) {
+        // memory grows and shrinks a little with each request, so that the samples aren't all the same
+        int tick = metricsRequests.incrementAndGet() % 10;
+
+        ObjectNode list = json.createObjectNode();
+        list.put("apiVersion", "metrics.k8s.io/v1beta1");
+        list.put("kind", "PodMetricsList");
+        list.putObject("metadata");
+        ArrayNode items = list.putArray("items");
+        for (String collection : new String[] {
+                "/apis/apps.openshift.io/v1/namespaces/" + namespace + "/deploymentconfigs",
+                "/apis/apps/v1/namespaces/" + namespace + "/deployments",
+                "/apis/apps/v1/namespaces/" + namespace + "/statefulsets" }) {
+            MockResponse response = handleGet(collection);
+            ObjectNode workloads = response.getBody() != null ? parse(response.getBody().readUtf8()) : null;
+            if (workloads == null) {
+                continue;
+            }
+            for (JsonNode workload : workloads.path("items")) {
+                String name = workload.path("metadata").path("name").asText();
+                int replicas = workload.path("status").path("readyReplicas").asInt(0);
+                for (int i = 0; i < replicas; i++) {
+                    ObjectNode pod = items.addObject();
+                    ObjectNode metadata = pod.putObject("metadata");
+                    metadata.put("name", name + "-mock-" + i);
+                    metadata.put("namespace", namespace);
+                    pod.put("timestamp", Instant.now().toString());
+                    pod.put("window", "30s");
+                    ObjectNode container = pod.putArray("containers").addObject();
+                    container.put("name", name);
+                    ObjectNode usage = container.putObject("usage");
+                    usage.put("cpu", (5 + tick) + "m");
+                    usage.put("memory", (64 + tick) * 1024 + "Ki");
+                }
+            }
+        }
+        return new MockResponse().setResponseCode(200).setBody(list.toString());
+    }
+
+    // adjust the resource before it's stored
+    private void onWrite(String kind, ObjectNode resource) {
+        if ("Route".equals(kind)) {
+            ObjectNode spec = resource.has("spec") ? (ObjectNode) resource.get("spec") : resource.putObject("spec");
+            spec.put("host", appHost);
+            spec.remove("tls");
+        } else if ("ImageStream".equals(kind)) {
+            ObjectNode spec = resource.has("spec") ? (ObjectNode) resource.get("spec") : resource.putObject("spec");
+            if (!spec.has("tags") || spec.get("tags").size() == 0) {
+                spec.putArray("tags").addObject().put("name", "latest");
+            }
+        }
+    }
+
+    private void simulateController(String kind, String name, String namespace, String itemPath, ObjectNode resource) {
+        switch (kind) {
+            case "DeploymentConfig":
+            case "Deployment":
+            case "StatefulSet":
+                int replicas = resource.path("spec").path("replicas").asInt(1);
+                schedule(readyDelayMillis, itemPath, current -> {
+                    ObjectNode status = ((ObjectNode) current).putObject("status");
+                    status.put("observedGeneration", current.path("metadata").path("generation").asLong(1));
+                    status.put("replicas", replicas);
+                    status.put("readyReplicas", replicas);
+                    status.put("availableReplicas", replicas);
+                    status.put("updatedReplicas", replicas);
+                    status.put("currentReplicas", replicas);
+                    ObjectNode condition = status.putArray("conditions").addObject();
+                    condition.put("type", "Available");
+                    condition.put("status", "True");
+                });
+                break;
+            case "Service":
+                if (namespace != null) {
+                    scheduler.schedule(() -> createEndpoints(namespace, name), readyDelayMillis, TimeUnit.MILLISECONDS);
+                }
+                break;
+            case "ProjectRequest":
+                createProject(name);
+                scheduler.schedule(() -> createBuilderServiceAccount(name), readyDelayMillis, TimeUnit.MILLISECONDS);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private synchronized void createEndpoints(String namespace, String name) {
+        ObjectNode endpoints = json.createObjectNode();
+        endpoints.put("apiVersion", "v1");
+        endpoints.put("kind", "Endpoints");
+        ObjectNode metadata = endpoints.putObject("metadata");
+        metadata.put("name", name);
+        metadata.put("namespace", namespace);
+        ObjectNode subset = endpoints.putArray("subsets").addObject();
+        subset.putArray("addresses").addObject().put("ip", "127.0.0.1");
+        subset.putArray("ports").addObject().put("port", 8080);
+
+        String collectionPath = "/api/v1/namespaces/" + namespace + "/endpoints";
+        if (handleGet(collectionPath + "/" + name).getStatus().contains(" 200")) {
+            handleReplace(collectionPath + "/" + name, endpoints.toString());
+        } else {
+            handleCreate(collectionPath, endpoints.toString());
+        }
+    }
+
+    private void createProject(String name) {
+        ObjectNode project = json.createObjectNode();
+        project.put("apiVersion", "project.openshift.io/v1");
+        project.put("kind", "Project");
+        project.putObject("metadata").put("name", name);
+        project.putObject("status").put("phase", "Active");
+
+        handleCreate("/apis/project.openshift.io/v1/projects", project.toString());
+    }
+
+    private synchronized void createBuilderServiceAccount(String namespace) {
+        if (!handleGet("/apis/project.openshift.io/v1/projects/" + namespace).getStatus().contains(" 200")) {
+            // deleted in the meantime
+            return;
+        }
+
+        ObjectNode serviceAccount = json.createObjectNode();
+        serviceAccount.put("apiVersion", "v1");
+        serviceAccount.put("kind", "ServiceAccount");
+        ObjectNode metadata = serviceAccount.putObject("metadata");
+        metadata.put("name", "builder");
+        metadata.put("namespace", namespace);
+
+        handleCreate("/api/v1/namespaces/" + namespace + "/serviceaccounts", serviceAccount.toString());
+    }
+
+    private void schedule(long delayMillis, String itemPath, Mutation mutation) {
+        scheduler.schedule(() -> update(itemPath, mutation), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void update(String itemPath, Mutation mutation) {
+        MockResponse current = handleGet(itemPath);
+        if (!current.getStatus().contains(" 200")) {
+            // deleted in the meantime
+            return;
+        }
+        ObjectNode resource = parse(current.getBody().readUtf8());
+        if (resource != null) {
+            mutation.apply(resource);
+            handleReplace(itemPath, resource.toString());
+        }
+    }
+
+    private ObjectNode parse(String body) {
+        try {
+            JsonNode node = json.readTree(body);
+            return node instanceof ObjectNode ? (ObjectNode) node : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String namespace(String path) {
+        Matcher matcher = NAMESPACE.matcher(path);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String stripQuery(String path) {
+        int query = path.indexOf('?');
+        return query >= 0 ? path.substring(0, query) : path;
+    }
+
+    @FunctionalInterface
+    private interface Mutation {
+        void apply(JsonNode resource);
+    }
+}
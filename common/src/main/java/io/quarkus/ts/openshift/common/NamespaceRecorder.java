@@ -0,0 +1,330 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.config.Config;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Follows logs of all containers of all pods in the namespace and watches namespace events during the whole
+ * test class, so that output of restarted or evicted pods isn't lost. Enabled with {@code -Dts.record-logs-and-events}.
+ * <p>
+ * Logs are received on the OpenShift client threads and written into a fixed-size in-memory ring buffer
+ * per container instance ({@code -Dts.record-logs-buffer-kb}, 512 kB by default), which never blocks.
+ * The buffers are periodically spilled to disk on a background thread. If a container produces more output
+ * between two spills than the buffer can hold, the oldest output is dropped and a marker is written instead.
+ * When the test class finishes, everything is flushed to {@code target/logs/<namespace>}.
+ * <p>
+ * If the pod or event watch is closed with an error (e.g. because the resource version is too old,
+ * or the API server was restarted), it's re-established, so that recording continues for the whole test class.
+ */
+final class NamespaceRecorder implements CloseableResource {
+    static final String CONFIG_KEY = "ts.record-logs-and-events";
+    static final String BUFFER_SIZE_CONFIG_KEY = "ts.record-logs-buffer-kb";
+
+    private static final String OUTPUT_DIRECTORY_CONFIG_KEY = "ts.instance-logs";
+    private static final String DEFAULT_OUTPUT_DIRECTORY = "target/logs";
+    private static final long SPILL_INTERVAL_MILLIS = 500;
+
+    static boolean isEnabled() {
+        return Config.get().getAsBoolean(CONFIG_KEY, false);
+    }
+
+    private final OpenShiftClient oc;
+    private final Path outputDirectory;
+    private final int bufferSize;
+
+    private final ScheduledExecutorService spiller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "namespace-recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // container instance ID -> buffer
+    private final Map<String, RingBuffer> buffers = new ConcurrentHashMap<>();
+    private final List<LogWatch> logWatches = new CopyOnWriteArrayList<>();
+    private final RingBuffer events;
+    // a re-established watch replays existing events
+    private final Set<String> recordedEvents = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+    private Watch podWatch;
+    private Watch eventWatch;
+
+    NamespaceRecorder(OpenShiftClient oc) {
+        this(oc, Paths.get(Config.get().getAsString(OUTPUT_DIRECTORY_CONFIG_KEY, DEFAULT_OUTPUT_DIRECTORY),
+                oc.getNamespace()));
+    }
+
+    NamespaceRecorder(OpenShiftClient oc, Path outputDirectory) {
+        this.oc = oc;
+        this.outputDirectory = outputDirectory;
+        this.bufferSize = Config.get().getAsInt(BUFFER_SIZE_CONFIG_KEY, 512) * 1024;
+        this.events = new RingBuffer(outputDirectory.resolve("events.recorded.log"), bufferSize);
+    }
+
+    void start() throws IOException {
+        Files.createDirectories(outputDirectory);
+
+        System.out.println(ansi().a("recording logs and events in namespace ").fgYellow().a(oc.getNamespace()).reset());
+
+        watchEvents();
+        watchPods();
+
+        spiller.scheduleWithFixedDelay(this::spill, SPILL_INTERVAL_MILLIS, SPILL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void watchEvents() {
+        if (closed) {
+            return;
+        }
+
+        eventWatch = oc.v1().events().watch(new Watcher<Event>() {
+            @Override
+            public void eventReceived(Action action, Event event) {
+                if ((action == Action.ADDED || action == Action.MODIFIED) && recordedEvents.add(eventKey(event))) {
+                    events.append(formatEvent(event));
+                }
+            }
+
+            @Override
+            public void onClose(KubernetesClientException cause) {
+                if (cause != null) {
+                    events.append("event watch closed (" + cause.getMessage() + "), watching again\n");
+                    watchEvents();
+                }
+            }
+        });
+    }
+
+    private synchronized void watchPods() {
+        if (closed) {
+            return;
+        }
+
+        podWatch = oc.pods().watch(new Watcher<Pod>() {
+            @Override
+            public void eventReceived(Action action, Pod pod) {
+                if (action == Action.ADDED || action == Action.MODIFIED) {
+                    followRunningContainers(pod);
+                }
+            }
+
+            @Override
+            public void onClose(KubernetesClientException cause) {
+                if (cause != null) {
+                    watchPods();
+                }
+            }
+        });
+        // pods that already exist (e.g. with a reused deployment), or changed while the watch was closed
+        oc.pods().list().getItems().forEach(this::followRunningContainers);
+    }
+
+    private void followRunningContainers(Pod pod) {
+        if (closed || pod.getStatus() == null) {
+            return;
+        }
+
+        List<ContainerStatus> statuses = new ArrayList<>(pod.getStatus().getInitContainerStatuses());
+        statuses.addAll(pod.getStatus().getContainerStatuses());
+        for (ContainerStatus status : statuses) {
+            // a restarted container gets a new ID, so each container instance is followed separately
+            if (status.getContainerID() == null || status.getState() == null || status.getState().getWaiting() != null) {
+                continue;
+            }
+
+            String podName = pod.getMetadata().getName();
+            String containerName = status.getName();
+            String fileName = podName + "-" + containerName + "-" + status.getRestartCount() + ".recorded.log";
+            RingBuffer buffer = new RingBuffer(outputDirectory.resolve(fileName), bufferSize);
+            if (buffers.putIfAbsent(status.getContainerID(), buffer) == null) {
+                try {
+                    logWatches.add(oc.pods().withName(podName).inContainer(containerName).watchLog(buffer));
+                } catch (KubernetesClientException e) {
+                    buffer.append("couldn't follow logs: " + e.getMessage() + "\n");
+                }
+            }
+        }
+    }
+
+    private static String eventKey(Event event) {
+        return event.getMetadata().getUid() + "/" + event.getMetadata().getResourceVersion();
+    }
+
+    private static String formatEvent(Event event) {
+        String time = event.getLastTimestamp() != null ? event.getLastTimestamp() : event.getEventTime() != null
+                ? event.getEventTime().getTime() : "";
+        String object = event.getInvolvedObject() != null
+                ? event.getInvolvedObject().getKind() + "/" + event.getInvolvedObject().getName()
+                : "";
+        return time + " " + event.getType() + " " + event.getReason() + " " + object + ": " + event.getMessage() + "\n";
+    }
+
+    private void spill() {
+        events.spill();
+        buffers.values().forEach(RingBuffer::spill);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+
+            if (podWatch != null) {
+                podWatch.close();
+            }
+            if (eventWatch != null) {
+                eventWatch.close();
+            }
+        }
+        logWatches.forEach(LogWatch::close);
+
+        spiller.shutdown();
+        try {
+            spiller.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        spill();
+        events.closeFile();
+        buffers.values().forEach(RingBuffer::closeFile);
+
+        long dropped = buffers.values().stream().mapToLong(it -> it.dropped).sum() + events.dropped;
+        System.out.println(ansi().a("recorded logs of ").fgYellow().a(buffers.size()).reset()
+                .a(" containers and namespace events into ").fgYellow().a(outputDirectory).reset()
+                .a(dropped > 0 ? ", " + dropped + " bytes dropped" : ""));
+    }
+
+    /**
+     * Fixed-size buffer of the most recent output. Writes never block (except for a short critical section),
+     * spilling is done on another thread.
+     */
+    static final class RingBuffer extends OutputStream {
+        private final Path file;
+        private final byte[] buffer;
+
+        private long written;
+        private long spilled;
+        private long dropped;
+
+        private FileChannel channel;
+        private boolean failed;
+
+        RingBuffer(Path file, int size) {
+            this.file = file;
+            this.buffer = new byte[size];
+        }
+
+        void append(String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) {
+            if (length > buffer.length) {
+                offset += length - buffer.length;
+                written += length - buffer.length;
+                length = buffer.length;
+            }
+
+            int position = (int) (written % buffer.length);
+            int first = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, first);
+            System.arraycopy(bytes, offset + first, buffer, 0, length - first);
+            written += length;
+        }
+
+        void spill() {
+            byte[] bytes;
+            long lost;
+            synchronized (this) {
+                if (written == spilled) {
+                    return;
+                }
+
+                long from = Math.max(spilled, written - buffer.length);
+                lost = from - spilled;
+                bytes = new byte[(int) (written - from)];
+                int position = (int) (from % buffer.length);
+                int first = Math.min(bytes.length, buffer.length - position);
+                System.arraycopy(buffer, position, bytes, 0, first);
+                System.arraycopy(buffer, 0, bytes, first, bytes.length - first);
+                spilled = written;
+                dropped += lost;
+            }
+
+            // only accessed from the spilling thread, or after it's finished
+            if (failed) {
+                return;
+            }
+            try {
+                if (channel == null) {
+                    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.WRITE);
+                }
+                if (lost > 0) {
+                    writeFully(ByteBuffer.wrap(("\n... " + lost + " bytes dropped\n").getBytes(StandardCharsets.UTF_8)));
+                }
+                writeFully(ByteBuffer.wrap(bytes));
+            } catch (IOException e) {
+                failed = true;
+                System.out.println(ansi().a("couldn't write ").fgYellow().a(file).reset().a(": ").a(e.getMessage()));
+            }
+        }
+
+        private void writeFully(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+
+        // the log watch might close the stream when the container terminates, but it must stay usable for spilling
+        @Override
+        public void close() {
+        }
+
+        void closeFile() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -1,27 +1,25 @@
 package io.quarkus.ts.openshift.common;
 
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftClient;
-import io.fabric8.openshift.client.OpenShiftConfig;
-import io.fabric8.openshift.client.OpenShiftConfigBuilder;
 import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
 
 final class OpenShiftClientResource implements CloseableResource {
     final OpenShiftClient client;
 
-    static OpenShiftClientResource createDefault() {
-        OpenShiftConfig config = new OpenShiftConfigBuilder()
-                .withTrustCerts(true)
-                .build();
-        return new OpenShiftClientResource(new DefaultOpenShiftClient(config));
+    private final Runnable onClose;
+
+    // closing the client would close the shared connection pool, see `SharedOpenShiftClient`
+    static OpenShiftClientResource createShared(OpenShiftClient client, Runnable onClose) {
+        return new OpenShiftClientResource(client, onClose);
     }
 
-    private OpenShiftClientResource(OpenShiftClient client) {
+    private OpenShiftClientResource(OpenShiftClient client, Runnable onClose) {
         this.client = client;
+        this.onClose = onClose;
     }
 
     @Override
     public void close() {
-        client.close();
+        onClose.run();
     }
 }
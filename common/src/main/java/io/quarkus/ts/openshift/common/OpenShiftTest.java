@@ -32,9 +32,17 @@ import java.lang.annotation.Target;
  * <p>
  * The {@link OnlyIfConfigured @OnlyIfConfigured} annotation can be used to selectively
  * enable/disable execution of tests based on a configuration property.
+ * <p>
+ * Setting {@link #reuse()} to {@link ReuseScope#MODULE} allows sharing a single deployment of the test application
+ * among multiple test classes.
+ * <p>
+ * If {@code -Dts.shard=i/N} is set, only test classes that belong to the {@code i}-th shard are executed,
+ * see {@link ShardPlanner}.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(ShardCondition.class)
 @ExtendWith(OpenShiftTestExtension.class)
 public @interface OpenShiftTest {
+    ReuseScope reuse() default ReuseScope.CLASS;
 }
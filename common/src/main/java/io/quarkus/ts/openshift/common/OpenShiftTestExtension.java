@@ -1,6 +1,7 @@
 package io.quarkus.ts.openshift.common;
 
 import io.fabric8.knative.client.KnativeClient;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.openshift.api.model.ImageStream;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.client.OpenShiftClient;
@@ -11,20 +12,28 @@ import io.quarkus.ts.openshift.common.injection.InjectionPoint;
 import io.quarkus.ts.openshift.common.injection.TestResource;
 import io.quarkus.ts.openshift.common.injection.WithName;
 import io.quarkus.ts.openshift.common.util.AwaitUtil;
+import io.quarkus.ts.openshift.common.util.LoadGenerator;
+import io.quarkus.ts.openshift.common.util.LoadResult;
 import io.quarkus.ts.openshift.common.util.OpenShiftUtil;
+import io.quarkus.ts.openshift.common.util.StartupProfiler;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
 import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
 import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
 import org.junit.jupiter.api.extension.TestInstancePostProcessor;
+import org.opentest4j.AssertionFailedError;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
@@ -38,8 +47,15 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.fusesource.jansi.Ansi.ansi;
@@ -48,9 +64,16 @@ import static org.junit.platform.commons.util.AnnotationUtils.findAnnotatedField
 // TODO at this point, this class is close to becoming unreadable, and could use some refactoring. 
 // Raised https://github.com/quarkus-qe/quarkus-openshift-test-suite/issues/108 for the refactoring.
 final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback,
-        TestInstancePostProcessor, ParameterResolver,
+        InvocationInterceptor, TestInstancePostProcessor, ParameterResolver,
         LifecycleMethodExecutionExceptionHandler, TestExecutionExceptionHandler {
 
+    private static final String APPLICATION_RESOURCES = "application-resources";
+    private static final String APP_BASE_URI = "app-base-uri";
+    private static final String ADDITIONAL_RESOURCES = "additional-resources-";
+    private static final String REUSED_APP = "reused-app-";
+    private static final String REUSE_LOCK = "reuse-lock-";
+    private static final String TESTS_SPAN = "tests-span";
+
     private final ServiceLoader<OnOpenShiftFailureAction> onFailureActions = ServiceLoader.load(OnOpenShiftFailureAction.class);
 
     private Store getStore(ExtensionContext context) {
@@ -67,10 +90,28 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
 
     private OpenShiftClient getOpenShiftClient(ExtensionContext context) {
         return getStore(context)
-                .getOrComputeIfAbsent(OpenShiftClientResource.class.getName(), ignored -> OpenShiftClientResource.createDefault(), OpenShiftClientResource.class)
+                .getOrComputeIfAbsent(OpenShiftClientResource.class.getName(), ignored -> {
+                    // the current project in kubeconfig can belong to another test class, e.g. with concurrently running
+                    // test classes or when the ephemeral namespace of a reused deployment is shared
+                    EphemeralNamespace ephemeralNamespace = getStore(context).get(EphemeralNamespace.class.getName(), EphemeralNamespace.class);
+                    return getSharedOpenShiftClient(context).forTestClass(context.getDisplayName(),
+                            ephemeralNamespace != null ? ephemeralNamespace.name : null);
+                }, OpenShiftClientResource.class)
                 .client;
     }
 
+    private SharedOpenShiftClient getSharedOpenShiftClient(ExtensionContext context) {
+        return getRootStore(context)
+                .getOrComputeIfAbsent(SharedOpenShiftClient.class.getName(), ignored -> MockCluster.isEnabled()
+                        ? new SharedOpenShiftClient(getMockCluster(context).config(null))
+                        : new SharedOpenShiftClient(), SharedOpenShiftClient.class);
+    }
+
+    private MockCluster getMockCluster(ExtensionContext context) {
+        return getRootStore(context)
+                .getOrComputeIfAbsent(MockCluster.class.getName(), ignored -> MockCluster.acquire(), MockCluster.class);
+    }
+
     private Path getResourcesYaml() {
         return Paths.get("target", "kubernetes", "openshift.yml");
     }
@@ -95,8 +136,77 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
     private AwaitUtil getAwaitUtil(ExtensionContext context) {
         OpenShiftClient oc = getOpenShiftClient(context);
         AppMetadata metadata = getAppMetadata(context);
+        Store store = getStore(context);
+        return store.getOrComputeIfAbsent(AwaitUtil.class.getName(),
+                ignored -> new AwaitUtil(oc, metadata, () -> store.get(APP_BASE_URI, String.class)), AwaitUtil.class);
+    }
+
+    private RequestSpecification getRequestSpecification(ExtensionContext context) throws OpenShiftTestException {
+        RequestSpecification spec = getStore(context).get(RequestSpecification.class.getName(), RequestSpecification.class);
+        if (spec == null) {
+            throw new OpenShiftTestException("RequestSpecification is only available after the application is deployed");
+        }
+        return spec;
+    }
+
+    private LoadGenerator getLoadGenerator(ExtensionContext context) throws OpenShiftTestException {
+        String baseUri = getStore(context).get(APP_BASE_URI, String.class);
+        if (baseUri == null) {
+            throw new OpenShiftTestException("LoadGenerator is only available after the application is deployed");
+        }
+        AppMetadata metadata = getAppMetadata(context);
+        String appUri = "/".equals(metadata.httpRoot) ? baseUri : baseUri + metadata.httpRoot;
+        FootprintRecorder footprint = getStore(context).get(FootprintRecorder.class.getName(), FootprintRecorder.class);
+        Consumer<LoadResult> listener = footprint != null ? footprint::loadFinished : ignored -> {
+        };
+        return getStore(context).getOrComputeIfAbsent(LoadGenerator.class.getName(), ignored -> new LoadGenerator(appUri, listener),
+                LoadGenerator.class);
+    }
+
+    private StartupProfiler getStartupProfiler(ExtensionContext context) throws OpenShiftTestException {
+        String baseUri = getStore(context).get(APP_BASE_URI, String.class);
+        if (baseUri == null) {
+            throw new OpenShiftTestException("StartupProfiler is only available after the application is deployed");
+        }
+        OpenShiftClient oc = getOpenShiftClient(context);
+        OpenShiftUtil openShiftUtil = getOpenShiftUtil(context);
+        AppMetadata metadata = getAppMetadata(context);
+        // known endpoint is already httpRoot-adjusted
+        String routeUrl = (baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri) + metadata.knownEndpoint;
+        return getStore(context).getOrComputeIfAbsent(StartupProfiler.class.getName(),
+                ignored -> new StartupProfiler(oc, openShiftUtil, metadata.appName, routeUrl), StartupProfiler.class);
+    }
+
+    private DeploymentPipeline getDeploymentPipeline(ExtensionContext context) {
+        OpenShiftClient oc = getOpenShiftClient(context);
+        AsyncTeardown teardown = getAsyncTeardown(context);
         return getStore(context)
-                .getOrComputeIfAbsent(AwaitUtil.class.getName(), ignored -> new AwaitUtil(oc, metadata), AwaitUtil.class);
+                .getOrComputeIfAbsent(DeploymentPipeline.class.getName(), ignored -> new DeploymentPipeline(oc, teardown), DeploymentPipeline.class);
+    }
+
+    private DeploymentModel getDeploymentModel(ExtensionContext context) throws OpenShiftTestException {
+        DeploymentModel model = getStore(context).get(DeploymentModel.class.getName(), DeploymentModel.class);
+        if (model == null) {
+            model = DeploymentModel.load(getDeploymentPipeline(context), getResourcesYaml());
+            getStore(context).put(DeploymentModel.class.getName(), model);
+        }
+        return model;
+    }
+
+    // teardown tasks outlive the test class that queued them, so the queue lives in the root context
+    private AsyncTeardown getAsyncTeardown(ExtensionContext context) {
+        // obtained first, so that it's stored before (and closed after) the teardown queue
+        SharedOpenShiftClient sharedClient = getSharedOpenShiftClient(context);
+        return context.getRoot().getStore(Namespace.create(getClass()))
+                .getOrComputeIfAbsent(AsyncTeardown.class.getName(), ignored -> new AsyncTeardown(sharedClient), AsyncTeardown.class);
+    }
+
+    // the pool is shared by all test classes, so it lives in the root context
+    private EphemeralNamespacePool getEphemeralNamespacePool(ExtensionContext context) {
+        SharedOpenShiftClient sharedClient = getSharedOpenShiftClient(context);
+        return context.getRoot().getStore(Namespace.create(getClass()))
+                .getOrComputeIfAbsent(EphemeralNamespacePool.class.getName(), ignored -> new EphemeralNamespacePool(sharedClient),
+                        EphemeralNamespacePool.class);
     }
 
     private OpenShiftUtil getOpenShiftUtil(ExtensionContext context) {
@@ -106,6 +216,31 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
                 .getOrComputeIfAbsent(OpenShiftUtil.class.getName(), ignogred -> new OpenShiftUtil(oc, await), OpenShiftUtil.class);
     }
 
+    private PerformanceReport getPerformanceReport(ExtensionContext context) {
+        return getRootStore(context)
+                .getOrComputeIfAbsent(PerformanceReport.class.getName(), ignored -> new PerformanceReport(), PerformanceReport.class);
+    }
+
+    private PhaseTimeline getPhaseTimeline(ExtensionContext context) {
+        PerformanceReport report = getPerformanceReport(context);
+        return getStore(context)
+                .getOrComputeIfAbsent(PhaseTimeline.class.getName(), ignored -> new PhaseTimeline(report.module(), context.getDisplayName(),
+                        context.getRequiredTestClass().getName()), PhaseTimeline.class);
+    }
+
+    private void initPerformanceBaselines(ExtensionContext context) throws Exception {
+        PerformanceReport report = getPerformanceReport(context);
+        getStore(context).put(PerformanceBaselines.class.getName(), new PerformanceBaselines(
+                PerformanceBaselines.directory(report.rootDirectory()), report.module(),
+                context.getRequiredTestClass().getName(), io.quarkus.builder.Version.getVersion(),
+                findNativeBinary().isPresent()));
+    }
+
+    // null if performance baselines are disabled
+    private PerformanceBaselines getPerformanceBaselines(ExtensionContext context) {
+        return getStore(context).get(PerformanceBaselines.class.getName(), PerformanceBaselines.class);
+    }
+
     private void initTestsStatus(ExtensionContext context) {
         getStore(context).put(TestsStatus.class.getName(), new TestsStatus());
     }
@@ -118,11 +253,20 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
         return testsStatus;
     }
 
+    // null if the application wasn't deployed automatically
+    @SuppressWarnings("unchecked")
+    private List<HasMetadata> getApplicationResources(ExtensionContext context) {
+        return getStore(context).get(APPLICATION_RESOURCES, List.class);
+    }
+
     // ---
 
     @Override
     public void beforeAll(ExtensionContext context) throws Exception {
         initTestsStatus(context);
+        if (PerformanceBaselines.isEnabled()) {
+            initPerformanceBaselines(context);
+        }
 
         try {
             doBeforeAll(context);
@@ -130,65 +274,291 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
             getTestsStatus(context).failed = true;
             throw e;
         }
+
+        getStore(context).put(TESTS_SPAN, getPhaseTimeline(context).start("tests"));
     }
 
     private void doBeforeAll(ExtensionContext context) throws Exception {
         System.out.println("---------- OpenShiftTest set up ----------");
 
-        createEphemeralNamespaceIfNecessary(context);
+        if (MockCluster.isEnabled()) {
+            checkMockClusterSupported();
+        }
 
-        deployAdditionalResources(context);
+        if (getReuseScope(context) == ReuseScope.MODULE) {
+            String reuseKey = computeReuseKey(context);
+            // with concurrently running test classes, only one of them deploys the shared application,
+            // the others wait for it and then reuse the deployment
+            ReentrantLock lock = getRootStore(context).getOrComputeIfAbsent(REUSE_LOCK + reuseKey,
+                    ignored -> new ReentrantLock(), ReentrantLock.class);
+            ReusedDeployment reused;
+            lock.lock();
+            try {
+                reused = getRootStore(context).get(reuseKey, ReusedDeployment.class);
+                if (reused == null) {
+                    deploy(context, reuseKey);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            reuseDeployment(context, reused);
+        } else {
+            deploy(context, null);
+        }
+    }
+
+    // `reuseKey` is `null` unless the deployment should be shared
+    private void deploy(ExtensionContext context, String reuseKey) throws Exception {
+        PhaseTimeline timeline = getPhaseTimeline(context);
+
+        try (PhaseTimeline.Span ignored = timeline.start("ephemeral namespace")) {
+            createEphemeralNamespaceIfNecessary(context);
+        }
+
+        startNamespaceRecorderIfNecessary(context);
+        startFootprintRecorderIfNecessary(context);
+
+        List<AdditionalResourcesDeployed> additionalResources;
+        try (PhaseTimeline.Span ignored = timeline.start("additional resources")) {
+            additionalResources = deployAdditionalResources(context);
+        }
 
-        runPublicStaticVoidMethods(CustomizeApplicationDeployment.class, context);
+        try (PhaseTimeline.Span ignored = timeline.start("customize deployment")) {
+            runPublicStaticVoidMethods(CustomizeApplicationDeployment.class, context);
+        }
 
         if (!getManualDeploymentAnnotation(context).isPresent()) {
-            Path openshiftResources = getResourcesYaml();
-            if (!Files.exists(openshiftResources)) {
-                throw new OpenShiftTestException("Missing " + openshiftResources + ", did you add the quarkus-kubernetes or quarkus-openshift extension?");
+            undeployConflictingReusedDeployment(context, reuseKey);
+
+            List<HasMetadata> resources;
+            try (PhaseTimeline.Span ignored = timeline.start("image overrides")) {
+                DeploymentModel model = getDeploymentModel(context);
+                model.applyImageOverrides(getOpenShiftClient(context));
+                resources = model.getResources();
+                getStore(context).put(APPLICATION_RESOURCES, resources);
             }
 
-            ImageOverrides.apply(openshiftResources, getOpenShiftClient(context));
+            DeploymentPipeline pipeline = getDeploymentPipeline(context);
 
             System.out.println("deploying application");
-            new Command("oc", "apply", "-f", openshiftResources.toString()).runAndWait();
+            try (PhaseTimeline.Span ignored = timeline.start("apply")) {
+                pipeline.apply(resources);
+            }
 
-            awaitImageStreams(context, openshiftResources);
+            try (PhaseTimeline.Span ignored = timeline.start("image streams")) {
+                awaitImageStreams(context, resources);
+            }
 
-            Optional<String> binary = findNativeBinary();
-            if (binary.isPresent()) {
-                new Command("oc", "start-build", getAppMetadata(context).appName, "--from-file=" + binary.get(), "--follow")
-                        .runAndWait();
-            } else {
-                // when generating Kubernetes resources, Quarkus expects that all application files
-                // will reside in `/deployments/target`, but if we did just `oc start-build my-app --from-dir=target`,
-                // the files would end up in `/deployments`
-                // using `tar` works around that nicely, because the tarball created with this command will have
-                // a single root directory named `target`, which the S2I builder image will unpack to `/deployments`
-                new Command("tar", "czf", "app.tar.gz", "target").runAndWait();
-                new Command("oc", "start-build", getAppMetadata(context).appName, "--from-archive=app.tar.gz", "--follow")
-                        .runAndWait();
-                new Command("rm", "app.tar.gz").runAndWait();
+            try (PhaseTimeline.Span ignored = timeline.start("build")) {
+                Optional<String> binary = findNativeBinary();
+                BuildCache buildCache = BuildCache.isEnabled()
+                        ? new BuildCache(getOpenShiftClient(context), getAppMetadata(context).appName)
+                        : null;
+                if (buildCache == null || !buildCache.tryReuse(binary.map(Paths::get), Paths.get("target"))) {
+                    if (DeploymentPipeline.usesOc()) {
+                        startBuildWithOc(context, binary);
+                    } else {
+                        BinaryBuild build = new BinaryBuild(getOpenShiftClient(context), getAppMetadata(context).appName);
+                        if (binary.isPresent()) {
+                            build.fromFile(Paths.get(binary.get()));
+                        } else {
+                            build.fromDirectory(Paths.get("target"));
+                        }
+                    }
+                    if (buildCache != null) {
+                        buildCache.store();
+                    }
+                }
             }
         }
 
-        setUpRestAssured(context);
+        try (PhaseTimeline.Span ignored = timeline.start("route")) {
+            setUpRestAssured(context);
 
-        getAwaitUtil(context).awaitAppRoute();
+            getAwaitUtil(context).awaitAppRoute();
+        }
+
+        PerformanceBaselines baselines = getPerformanceBaselines(context);
+        if (baselines != null) {
+            baselines.record(context.getRequiredTestClass().getName(), PerformanceBaselines.Metric.STARTUP,
+                    getAwaitUtil(context).getTimeToFirstRouteSuccessNanos() / 1_000_000.0);
+        }
+
+        if (reuseKey != null) {
+            shareDeployment(context, reuseKey, additionalResources);
+        }
     }
 
-    private void createEphemeralNamespaceIfNecessary(ExtensionContext context) throws IOException, InterruptedException {
+    // the mock cluster only simulates the API server, so nothing can be done via `oc`
+    private void checkMockClusterSupported() throws OpenShiftTestException {
         if (EphemeralNamespace.isEnabled()) {
+            throw new OpenShiftTestException("Ephemeral namespaces can't be used with " + MockCluster.CONFIG_KEY);
+        }
+        if (DeploymentPipeline.usesOc()) {
+            throw new OpenShiftTestException(DeploymentPipeline.CONFIG_KEY + " can't be used with " + MockCluster.CONFIG_KEY);
+        }
+    }
+
+    private Store getRootStore(ExtensionContext context) {
+        return context.getRoot().getStore(Namespace.create(getClass()));
+    }
+
+    private ReuseScope getReuseScope(ExtensionContext context) {
+        for (Class<?> clazz = context.getRequiredTestClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            OpenShiftTest annotation = clazz.getAnnotation(OpenShiftTest.class);
+            if (annotation != null) {
+                return annotation.reuse();
+            }
+        }
+        return ReuseScope.CLASS;
+    }
+
+    private String computeReuseKey(ExtensionContext context) throws IOException, OpenShiftTestException {
+        Class<?> testClass = context.getRequiredTestClass();
+        if (getManualDeploymentAnnotation(context).isPresent()) {
+            throw new OpenShiftTestException("@OpenShiftTest(reuse = MODULE) can't be used with @ManualApplicationDeployment"
+                    + " on " + testClass.getSimpleName());
+        }
+        if (!findPublicStaticVoidMethods(CustomizeApplicationUndeployment.class, context).isEmpty()) {
+            throw new OpenShiftTestException("@OpenShiftTest(reuse = MODULE) can't be used with @CustomizeApplicationUndeployment"
+                    + " on " + testClass.getSimpleName());
+        }
+
+        List<String> additionalResources = Arrays.stream(testClass.getAnnotationsByType(AdditionalResources.class))
+                .map(AdditionalResources::value)
+                .collect(Collectors.toList());
+        return ReusedDeployment.key(getAppMetadata(context).appName, getResourcesYaml(), additionalResources,
+                findPublicStaticVoidMethods(CustomizeApplicationDeployment.class, context));
+    }
+
+    private void reuseDeployment(ExtensionContext context, ReusedDeployment reused) throws Exception {
+        System.out.println(ansi().a("reusing deployment of ").fgYellow().a(reused.appName).reset()
+                .a(" in namespace ").fgYellow().a(reused.namespace).reset()
+                .a(" from ").fgYellow().a(reused.deployedBy).reset());
+
+        if (reused.ephemeralNamespace != null) {
+            getStore(context).put(EphemeralNamespace.class.getName(), reused.ephemeralNamespace);
+            if (!ParallelSafeMode.isEnabled()) {
+                new Command("oc", "project", reused.namespace).runAndWait();
+            }
+        }
+        // only a marker, the deployment itself is closed by the root context
+        getStore(context).put(ReusedDeployment.class.getName(), reused.key);
+        reused.addUser(getTestsStatus(context));
+
+        startNamespaceRecorderIfNecessary(context);
+        startFootprintRecorderIfNecessary(context);
+
+        try (PhaseTimeline.Span ignored = getPhaseTimeline(context).start("route")) {
+            setUpRestAssured(context);
+
+            getAwaitUtil(context).awaitAppRoute();
+        }
+    }
+
+    // the deployment, including additional resources and ephemeral namespace, is handed over from the test class
+    // to the root context
+    private void shareDeployment(ExtensionContext context, String reuseKey, List<AdditionalResourcesDeployed> additionalResources) {
+        Store store = getStore(context);
+        for (int i = 0; i < additionalResources.size(); i++) {
+            store.remove(ADDITIONAL_RESOURCES + i);
+        }
+
+        ReusedDeployment reused = new ReusedDeployment(reuseKey, getAppMetadata(context).appName,
+                getOpenShiftClient(context).getNamespace(),
+                store.get(EphemeralNamespace.class.getName(), EphemeralNamespace.class),
+                context.getDisplayName(),
+                getApplicationResources(context),
+                additionalResources.stream().map(AdditionalResourcesDeployed::resources).collect(Collectors.toList()),
+                getSharedOpenShiftClient(context));
+        reused.addUser(getTestsStatus(context));
+        // only a marker, the deployment itself must only be closed by the root context
+        store.put(ReusedDeployment.class.getName(), reuseKey);
+
+        Store rootStore = getRootStore(context);
+        rootStore.put(reuseKey, reused);
+        rootStore.put(REUSED_APP + reused.namespace + "/" + reused.appName, reuseKey);
+    }
+
+    // when not using ephemeral namespaces, the application can't be deployed if a shared deployment
+    // of the same application (with a different configuration) already exists in the namespace
+    private void undeployConflictingReusedDeployment(ExtensionContext context, String reuseKey) {
+        String conflictKey = REUSED_APP + getOpenShiftClient(context).getNamespace() + "/" + getAppMetadata(context).appName;
+        Store rootStore = getRootStore(context);
+        String conflictingKey = rootStore.get(conflictKey, String.class);
+        if (conflictingKey != null && !conflictingKey.equals(reuseKey)) {
+            rootStore.remove(conflictKey);
+            ReusedDeployment conflicting = rootStore.remove(conflictingKey, ReusedDeployment.class);
+            if (conflicting != null) {
+                conflicting.close();
+            }
+        }
+    }
+
+    private void startBuildWithOc(ExtensionContext context, Optional<String> binary) throws IOException, InterruptedException {
+        if (binary.isPresent()) {
+            new Command("oc", "start-build", getAppMetadata(context).appName, "--from-file=" + binary.get(), "--follow",
+                    "-n", getOpenShiftClient(context).getNamespace())
+                    .runAndWait();
+        } else {
+            // when generating Kubernetes resources, Quarkus expects that all application files
+            // will reside in `/deployments/target`, but if we did just `oc start-build my-app --from-dir=target`,
+            // the files would end up in `/deployments`
+            // using `tar` works around that nicely, because the tarball created with this command will have
+            // a single root directory named `target`, which the S2I builder image will unpack to `/deployments`
+            long start = System.nanoTime();
+            new Command("tar", "czf", "app.tar.gz", "target").runAndWait();
+            BinaryBuild.printStats("archived", Files.size(Paths.get("app.tar.gz")), System.nanoTime() - start);
+            new Command("oc", "start-build", getAppMetadata(context).appName, "--from-archive=app.tar.gz", "--follow",
+                    "-n", getOpenShiftClient(context).getNamespace())
+                    .runAndWait();
+            new Command("rm", "app.tar.gz").runAndWait();
+        }
+    }
+
+    private void createEphemeralNamespaceIfNecessary(ExtensionContext context) throws IOException, InterruptedException, OpenShiftTestException {
+        if (EphemeralNamespacePool.isEnabled()) {
+            EphemeralNamespace namespace = getEphemeralNamespacePool(context).acquire();
+            getStore(context).put(EphemeralNamespace.class.getName(), namespace);
+
+            System.out.println(ansi().a("using ephemeral namespace ").fgYellow().a(namespace.name).reset().a(" from the pool"));
+        } else if (EphemeralNamespace.isEnabled()) {
             EphemeralNamespace namespace = EphemeralNamespace.newWithRandomName();
             getStore(context).put(EphemeralNamespace.class.getName(), namespace);
 
             System.out.println(ansi().a("using ephemeral namespace ").fgYellow().a(namespace.name).reset());
-            new Command("oc", "new-project", namespace.name).runAndWait();
+            if (ParallelSafeMode.isEnabled()) {
+                new Command("oc", "new-project", namespace.name, "--skip-config-write").runAndWait();
+            } else {
+                new Command("oc", "new-project", namespace.name).runAndWait();
+            }
         }
     }
 
-    private void deployAdditionalResources(ExtensionContext context) throws IOException, InterruptedException {
+    private void startNamespaceRecorderIfNecessary(ExtensionContext context) throws IOException {
+        if (NamespaceRecorder.isEnabled()) {
+            NamespaceRecorder recorder = new NamespaceRecorder(getOpenShiftClient(context));
+            getStore(context).put(NamespaceRecorder.class.getName(), recorder);
+            recorder.start();
+        }
+    }
+
+    private void startFootprintRecorderIfNecessary(ExtensionContext context) {
+        if (FootprintRecorder.isEnabled()) {
+            PerformanceReport report = getPerformanceReport(context);
+            FootprintRecorder recorder = new FootprintRecorder(getOpenShiftClient(context), report.module(),
+                    context.getDisplayName(), context.getRequiredTestClass().getName());
+            getStore(context).put(FootprintRecorder.class.getName(), recorder);
+            recorder.start();
+        }
+    }
+
+    private List<AdditionalResourcesDeployed> deployAdditionalResources(ExtensionContext context) throws IOException, InterruptedException, OpenShiftTestException {
+        List<AdditionalResourcesDeployed> result = new ArrayList<>();
         TestsStatus testsStatus = getTestsStatus(context);
         OpenShiftClient oc = getOpenShiftClient(context);
+        DeploymentPipeline pipeline = getDeploymentPipeline(context);
         AwaitUtil awaitUtil = getAwaitUtil(context);
         Optional<AnnotatedElement> element = context.getElement();
         if (element.isPresent()) {
@@ -196,27 +566,26 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
             AdditionalResources[] annotations = annotatedElement.getAnnotationsByType(AdditionalResources.class);
             for (AdditionalResources additionalResources : annotations) {
                 AdditionalResourcesDeployed deployed = AdditionalResourcesDeployed.deploy(additionalResources,
-                        testsStatus, oc, awaitUtil);
+                        testsStatus, oc, pipeline, awaitUtil);
 
                 if (EphemeralNamespace.isDisabled()) {
                     // when using ephemeral namespaces, we don't delete additional resources because:
                     // - when an ephemeral namespace is dropped, everything is destroyed anyway
                     // - when retain on failure is enabled and failure occurs,
                     //   everything in the ephemeral namespace must be kept intact
-                    getStore(context).put(new Object(), deployed);
+                    getStore(context).put(ADDITIONAL_RESOURCES + result.size(), deployed);
                 }
+                result.add(deployed);
             }
         }
+        return result;
     }
 
-    private void awaitImageStreams(ExtensionContext context, Path openshiftResources) throws IOException {
-        OpenShiftClient oc = getOpenShiftClient(context);
+    private void awaitImageStreams(ExtensionContext context, List<HasMetadata> resources) {
         AppMetadata metadata = getAppMetadata(context);
         AwaitUtil awaitUtil = getAwaitUtil(context);
 
-        oc.load(Files.newInputStream(openshiftResources))
-                .get()
-                .stream()
+        resources.stream()
                 .flatMap(it -> it instanceof ImageStream ? Stream.of(it) : Stream.empty())
                 .map(it -> it.getMetadata().getName())
                 .filter(it -> !it.equals(metadata.appName))
@@ -227,6 +596,8 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
         OpenShiftClient oc = getOpenShiftClient(context);
         AppMetadata metadata = getAppMetadata(context);
 
+        String baseUri;
+        boolean relaxedHttpsValidation = false;
         if (metadata.deploymentTarget.isEmpty() || !metadata.deploymentTarget.contains("knative")) {
             System.out.println(ansi().a("using ").fgYellow().a("OpenShiftClient").reset().a(" to get the route"));
 
@@ -235,10 +606,10 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
                 throw new OpenShiftTestException("Missing route " + metadata.appName + ", did you set quarkus.openshift.expose=true?");
             }
             if (route.getSpec().getTls() != null) {
-                RestAssured.useRelaxedHTTPSValidation();
-                RestAssured.baseURI = "https://" + route.getSpec().getHost();
+                relaxedHttpsValidation = true;
+                baseUri = "https://" + route.getSpec().getHost();
             } else {
-                RestAssured.baseURI = "http://" + route.getSpec().getHost();
+                baseUri = "http://" + route.getSpec().getHost();
             }
         } else {
             System.out.println(ansi().a("using ").fgYellow().a("KnativeClient").reset().a(" to get the route"));
@@ -248,13 +619,72 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
             if (knRoute == null) {
                 throw new OpenShiftTestException("Missing route " + metadata.appName);
             }
-            RestAssured.baseURI = knRoute.getStatus().getUrl();
+            baseUri = knRoute.getStatus().getUrl();
+        }
+
+        getStore(context).put(APP_BASE_URI, baseUri);
+
+        RequestSpecBuilder spec = new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setBasePath(metadata.httpRoot);
+        if (relaxedHttpsValidation) {
+            spec.setRelaxedHTTPSValidation();
+        }
+        getStore(context).put(RequestSpecification.class.getName(), spec.build());
+
+        if (!ParallelSafeMode.isEnabled()) {
+            if (relaxedHttpsValidation) {
+                RestAssured.useRelaxedHTTPSValidation();
+            }
+            RestAssured.baseURI = baseUri;
+            RestAssured.basePath = metadata.httpRoot;
         }
-        RestAssured.basePath = metadata.httpRoot;
     }
 
     @Override
     public void afterAll(ExtensionContext context) throws Exception {
+        PhaseTimeline.Span testsSpan = getStore(context).remove(TESTS_SPAN, PhaseTimeline.Span.class);
+        if (testsSpan != null) {
+            testsSpan.close();
+        }
+
+        // the application is about to be undeployed
+        FootprintRecorder footprint = getStore(context).get(FootprintRecorder.class.getName(), FootprintRecorder.class);
+        if (footprint != null) {
+            footprint.stop();
+        }
+
+        try (PhaseTimeline.Span ignored = getPhaseTimeline(context).start("tear down")) {
+            doAfterAll(context);
+        }
+
+        PerformanceBaselines baselines = getPerformanceBaselines(context);
+        if (baselines != null) {
+            if (footprint != null && footprint.peakTotalMemoryMb() >= 0) {
+                baselines.record(context.getRequiredTestClass().getName(), PerformanceBaselines.Metric.PEAK_MEMORY,
+                        footprint.peakTotalMemoryMb());
+            }
+            compareWithBaselines(baselines);
+        }
+    }
+
+    private void compareWithBaselines(PerformanceBaselines baselines) {
+        List<PerformanceBaselines.Comparison> regressions;
+        try {
+            regressions = baselines.compareAndStore();
+        } catch (IOException e) {
+            System.out.println(ansi().a("couldn't compare with performance baselines: ").fgRed().a(e.getMessage()).reset());
+            return;
+        }
+
+        if (!regressions.isEmpty() && PerformanceBaselines.failOnRegression()) {
+            throw new AssertionFailedError("Performance regressions found:\n" + regressions.stream()
+                    .map(it -> "- " + it + "\n")
+                    .collect(Collectors.joining()));
+        }
+    }
+
+    private void doAfterAll(ExtensionContext context) throws Exception {
         boolean testsFailed = getTestsStatus(context).failed;
 
         if (testsFailed) {
@@ -262,7 +692,13 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
             System.out.println(ansi().a("test ").fgYellow().a(context.getDisplayName()).reset()
                     .a(" failed, showing current namespace status"));
 
-            onFailureActions.forEach(action -> this.runOnFailureAction(context, action));
+            if (MockCluster.isEnabled()) {
+                System.out.println(ansi().a("using mock cluster, skipping on failure actions"));
+            } else {
+                try (PhaseTimeline.Span ignored = getPhaseTimeline(context).start("on failure actions")) {
+                    onFailureActions.forEach(action -> this.runOnFailureAction(context, action));
+                }
+            }
         }
 
         System.out.println("---------- OpenShiftTest tear down ----------");
@@ -287,10 +723,16 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
         if (getManualDeploymentAnnotation(context).isPresent()) {
             shouldUndeployApplication = false;
         }
+        boolean reused = getStore(context).get(ReusedDeployment.class.getName()) != null;
+        if (reused) {
+            // undeployed when all tests finish
+            shouldUndeployApplication = false;
+        }
 
-        if (shouldUndeployApplication) {
+        List<HasMetadata> applicationResources = getApplicationResources(context);
+        if (shouldUndeployApplication && applicationResources != null) {
             System.out.println("undeploying application");
-            new Command("oc", "delete", "-f", getResourcesYaml().toString(), "--ignore-not-found").runAndWait();
+            getDeploymentPipeline(context).delete(applicationResources);
         }
 
         // TODO before or after application undeployment?
@@ -298,10 +740,12 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
         //  test failures, or retain on failure
         runPublicStaticVoidMethods(CustomizeApplicationUndeployment.class, context);
 
-        dropEphemeralNamespaceIfNecessary(context);
+        if (!reused) {
+            dropEphemeralNamespaceIfNecessary(context);
+        }
     }
 
-    private void dropEphemeralNamespaceIfNecessary(ExtensionContext context) throws IOException, InterruptedException {
+    private void dropEphemeralNamespaceIfNecessary(ExtensionContext context) throws Exception {
         EphemeralNamespace ephemeralNamespace = getStore(context).get(EphemeralNamespace.class.getName(), EphemeralNamespace.class);
         TestsStatus status = getTestsStatus(context);
         if (ephemeralNamespace != null) {
@@ -311,12 +755,34 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
                         .a(" intact"));
             } else {
                 System.out.println(ansi().a("dropping ephemeral namespace ").fgYellow().a(ephemeralNamespace.name).reset());
-                new Command("oc", "delete", "project", ephemeralNamespace.name).runAndWait();
+                if (EphemeralNamespacePool.isEnabled()) {
+                    getEphemeralNamespacePool(context).release(ephemeralNamespace);
+                } else {
+                    getAsyncTeardown(context).submit("dropping ephemeral namespace " + ephemeralNamespace.name,
+                            Collections.singletonList(AsyncTeardown.key(ephemeralNamespace.name)),
+                            ignored -> new Command("oc", "delete", "project", ephemeralNamespace.name).runAndWait());
+                }
             }
         }
     }
 
     private void runPublicStaticVoidMethods(Class<? extends Annotation> annotation, ExtensionContext context) throws Exception {
+        for (Method method : findPublicStaticVoidMethods(annotation, context)) {
+            Parameter[] parameters = method.getParameters();
+            Object[] arguments = new Object[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                Parameter parameter = parameters[i];
+                InjectionPoint injectionPoint = InjectionPoint.forParameter(parameter);
+                arguments[i] = valueFor(injectionPoint, context);
+            }
+
+            method.invoke(null, arguments);
+        }
+    }
+
+    private List<Method> findPublicStaticVoidMethods(Class<? extends Annotation> annotation, ExtensionContext context)
+            throws OpenShiftTestException {
+        List<Method> result = new ArrayList<>();
         for (Method method : context.getRequiredTestClass().getMethods()) {
             if (method.getAnnotation(annotation) != null) {
                 if (!isPublicStaticVoid(method)) {
@@ -324,18 +790,10 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
                             + " method " + method.getDeclaringClass().getSimpleName() + "." + method.getName()
                             + " must be public static void");
                 }
-
-                Parameter[] parameters = method.getParameters();
-                Object[] arguments = new Object[parameters.length];
-                for (int i = 0; i < parameters.length; i++) {
-                    Parameter parameter = parameters[i];
-                    InjectionPoint injectionPoint = InjectionPoint.forParameter(parameter);
-                    arguments[i] = valueFor(injectionPoint, context);
-                }
-
-                method.invoke(null, arguments);
+                result.add(method);
             }
         }
+        return result;
     }
 
     private static boolean isPublicStaticVoid(Method method) {
@@ -355,6 +813,32 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
 
     // ---
 
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+            ExtensionContext context) throws Throwable {
+        invocation.proceed();
+
+        PerformanceBudget budget = invocationContext.getExecutable().getAnnotation(PerformanceBudget.class);
+        if (budget == null) {
+            return;
+        }
+        if (!PerformanceBudgets.isEnabled()) {
+            System.out.println(ansi().a("skipping performance budget of ").fgYellow().a(budget.endpoint()).reset()
+                    .a(", enable it with -D" + PerformanceBudgets.CONFIG_KEY));
+            return;
+        }
+
+        String testName = context.getRequiredTestClass().getName() + "." + context.getRequiredTestMethod().getName();
+        LoadResult result = PerformanceBudgets.measure(budget, testName, getLoadGenerator(context), getPhaseTimeline(context));
+        PerformanceBaselines baselines = getPerformanceBaselines(context);
+        if (baselines != null) {
+            baselines.record(testName, result);
+        }
+        PerformanceBudgets.check(budget, result);
+    }
+
+    // ---
+
     @Override
     public void postProcessTestInstance(Object testInstance, ExtensionContext context) throws Exception {
         injectDependencies(testInstance, context);
@@ -386,6 +870,16 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
             return getAwaitUtil(context);
         } else if (OpenShiftUtil.class.equals(injectionPoint.type())) {
             return getOpenShiftUtil(context);
+        } else if (RequestSpecification.class.equals(injectionPoint.type())) {
+            return getRequestSpecification(context);
+        } else if (LoadGenerator.class.equals(injectionPoint.type())) {
+            return getLoadGenerator(context);
+        } else if (StartupProfiler.class.equals(injectionPoint.type())) {
+            return getStartupProfiler(context);
+        } else if (DeploymentModel.class.equals(injectionPoint.type())) {
+            return getDeploymentModel(context);
+        } else if (PhaseTimeline.class.equals(injectionPoint.type())) {
+            return getPhaseTimeline(context);
         } else if (Config.class.equals(injectionPoint.type())) {
             return Config.get();
         } else if (URL.class.equals(injectionPoint.type())) {
@@ -481,9 +975,13 @@ final class OpenShiftTestExtension implements BeforeAllCallback, AfterAllCallbac
     }
 
     private Optional<String> findNativeBinary() throws Exception {
+        return findNativeBinary(Paths.get("target/"));
+    }
+
+    static Optional<String> findNativeBinary(Path target) throws IOException {
         try (Stream<Path> binariesFound = Files
-                .find(Paths.get("target/"), Integer.MAX_VALUE,
-                        (path, basicFileAttributes) -> path.toFile().getName().matches(".*-runner"))) {
+                .find(target, Integer.MAX_VALUE,
+                        (path, attributes) -> attributes.isRegularFile() && path.getFileName().toString().endsWith("-runner"))) {
             return binariesFound.map(path -> path.normalize().toString()).findFirst();
         }
     }
@@ -0,0 +1,17 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.config.Config;
+
+/**
+ * When enabled, the test framework never modifies JVM-global state that would prevent running test classes
+ * concurrently: RestAssured global configuration is left untouched (tests must use the injected
+ * {@link io.restassured.specification.RequestSpecification RequestSpecification}) and the OpenShift client
+ * of each test class is bound to the namespace of that test class.
+ */
+final class ParallelSafeMode {
+    static final String CONFIG_KEY = "ts.parallel-safe";
+
+    static boolean isEnabled() {
+        return Config.get().getAsBoolean(CONFIG_KEY, false);
+    }
+}
@@ -0,0 +1,271 @@
+package io.quarkus.ts.openshift.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.quarkus.ts.openshift.common.config.Config;
+import io.quarkus.ts.openshift.common.util.LoadResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * File-based store of performance measurements, and a comparator that finds regressions against a baseline.
+ * <p>
+ * Measurements of a single test class are collected during the test class (application startup for the test class,
+ * latencies and throughput for each {@link PerformanceBudget @PerformanceBudget} test method). When the test class
+ * finishes, they are compared with previous runs of the same test in the same module and the same mode (JVM
+ * or native), with the Quarkus version given by {@code ts.performance-baseline} or, by default, the current
+ * Quarkus version. Then, they are appended to {@code [module].jsonl} in the directory given by
+ * {@code ts.performance-baselines}, as JSON lines.
+ * <p>
+ * A measurement is a regression if it's worse than the mean of the last {@value MAX_BASELINE_RUNS} baseline runs
+ * by more than {@code 10 %}, and also, if there are at least 2 baseline runs, by more than 3 standard deviations
+ * of those runs. The comparison is printed and written into
+ * {@code target/failsafe-reports/[test class]-performance-comparison.txt}.
+ */
+final class PerformanceBaselines {
+    static final String CONFIG_KEY = "ts.performance-baselines";
+    static final String BASELINE_CONFIG_KEY = "ts.performance-baseline";
+    static final String FAIL_ON_REGRESSION_CONFIG_KEY = "ts.performance-baselines.fail-on-regression";
+
+    static final String DEFAULT_DIRECTORY = "ts-performance-baselines";
+
+    static final int MAX_BASELINE_RUNS = 10;
+    static final double MIN_RELATIVE_CHANGE = 0.1;
+    static final double MIN_STANDARD_DEVIATIONS = 3;
+
+    private static final Object FILE_LOCK = new Object();
+
+    enum Metric {
+        STARTUP("startup-millis", true),
+        LATENCY_P50("latency-p50-millis", true),
+        LATENCY_P90("latency-p90-millis", true),
+        LATENCY_P99("latency-p99-millis", true),
+        THROUGHPUT("throughput-rps", false),
+        PEAK_MEMORY("peak-memory-mb", true),
+        ;
+
+        final String key;
+        final boolean lowerIsBetter;
+
+        Metric(String key, boolean lowerIsBetter) {
+            this.key = key;
+            this.lowerIsBetter = lowerIsBetter;
+        }
+    }
+
+    static final class Comparison {
+        final String test;
+        final Metric metric;
+        final double current;
+        final double baselineMean;
+        final double baselineStandardDeviation;
+        final int baselineRuns;
+        final boolean regression;
+
+        Comparison(String test, Metric metric, double current, double baselineMean, double baselineStandardDeviation,
+                int baselineRuns, boolean regression) {
+            this.test = test;
+            this.metric = metric;
+            this.current = current;
+            this.baselineMean = baselineMean;
+            this.baselineStandardDeviation = baselineStandardDeviation;
+            this.baselineRuns = baselineRuns;
+            this.regression = regression;
+        }
+
+        @Override
+        public String toString() {
+            double change = baselineMean == 0 ? 0 : (current - baselineMean) / baselineMean * 100;
+            return String.format("%s %s: %.1f, baseline %.1f +/- %.1f (%d %s), %+.1f %%%s", test, metric.key, current,
+                    baselineMean, baselineStandardDeviation, baselineRuns, baselineRuns == 1 ? "run" : "runs", change,
+                    regression ? ", REGRESSION" : "");
+        }
+    }
+
+    static boolean isEnabled() {
+        return Config.get().getAsString(CONFIG_KEY, null) != null;
+    }
+
+    static boolean failOnRegression() {
+        return Config.get().getAsBoolean(FAIL_ON_REGRESSION_CONFIG_KEY, false);
+    }
+
+    /**
+     * Directory from {@code ts.performance-baselines}, relative to the root directory of the test suite.
+     * If the config value is empty, {@value DEFAULT_DIRECTORY} is used.
+     */
+    static Path directory(Path rootDirectory) {
+        String value = Config.get().getAsString(CONFIG_KEY, "");
+        return rootDirectory.resolve(value.isEmpty() ? DEFAULT_DIRECTORY : value);
+    }
+
+    private final Path file;
+    private final String module;
+    private final String testClass;
+    private final String quarkusVersion;
+    private final String mode;
+    private final String baselineVersion;
+
+    // test -> metric -> value
+    private final Map<String, Map<Metric, Double>> measurements = new LinkedHashMap<>();
+
+    PerformanceBaselines(Path directory, String module, String testClass, String quarkusVersion, boolean nativeMode) {
+        this.file = directory.resolve(module + ".jsonl");
+        this.module = module;
+        this.testClass = testClass;
+        this.quarkusVersion = quarkusVersion;
+        this.mode = nativeMode ? "native" : "jvm";
+        this.baselineVersion = Config.get().getAsString(BASELINE_CONFIG_KEY, quarkusVersion);
+    }
+
+    synchronized void record(String test, Metric metric, double value) {
+        measurements.computeIfAbsent(test, ignored -> new EnumMap<>(Metric.class)).put(metric, value);
+    }
+
+    void record(String test, LoadResult result) {
+        if (result.getSuccessfulRequests() > 0) {
+            record(test, Metric.LATENCY_P50, result.getLatencyMillis(50));
+            record(test, Metric.LATENCY_P90, result.getLatencyMillis(90));
+            record(test, Metric.LATENCY_P99, result.getLatencyMillis(99));
+        }
+        record(test, Metric.THROUGHPUT, result.getThroughput());
+    }
+
+    /**
+     * Compares measurements with the baseline, reports the result and stores the measurements.
+     * Returns the regressions.
+     */
+    synchronized List<Comparison> compareAndStore() throws IOException {
+        if (measurements.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Comparison> comparisons = new ArrayList<>();
+        // test classes running concurrently write into the same file
+        synchronized (FILE_LOCK) {
+            Map<String, Map<Metric, List<Double>>> baselines = loadBaselines();
+            for (Map.Entry<String, Map<Metric, Double>> test : measurements.entrySet()) {
+                Map<Metric, List<Double>> baseline = baselines.getOrDefault(test.getKey(), Collections.emptyMap());
+                for (Map.Entry<Metric, Double> measurement : test.getValue().entrySet()) {
+                    compare(test.getKey(), measurement.getKey(), baseline.getOrDefault(measurement.getKey(),
+                            Collections.emptyList()), measurement.getValue()).ifPresent(comparisons::add);
+                }
+            }
+            store();
+        }
+
+        report(comparisons);
+
+        List<Comparison> regressions = new ArrayList<>();
+        for (Comparison comparison : comparisons) {
+            if (comparison.regression) {
+                regressions.add(comparison);
+            }
+        }
+        return regressions;
+    }
+
+    // most recent runs last
+    private Map<String, Map<Metric, List<Double>>> loadBaselines() throws IOException {
+        Map<String, Map<Metric, List<Double>>> result = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return result;
+        }
+
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            JsonNode json = Serialization.jsonMapper().readTree(line);
+            if (!module.equals(json.path("module").asText())
+                    || !baselineVersion.equals(json.path("quarkusVersion").asText())
+                    || !mode.equals(json.path("mode").asText())) {
+                continue;
+            }
+
+            Map<Metric, List<Double>> test = result.computeIfAbsent(json.path("test").asText(),
+                    ignored -> new EnumMap<>(Metric.class));
+            JsonNode metrics = json.path("metrics");
+            for (Metric metric : Metric.values()) {
+                if (metrics.has(metric.key)) {
+                    test.computeIfAbsent(metric, ignored -> new ArrayList<>()).add(metrics.get(metric.key).asDouble());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void store() throws IOException {
+        Files.createDirectories(file.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Map.Entry<String, Map<Metric, Double>> test : measurements.entrySet()) {
+                Map<String, Double> metrics = new LinkedHashMap<>();
+                test.getValue().forEach((metric, value) -> metrics.put(metric.key, value));
+
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("timestamp", System.currentTimeMillis());
+                record.put("module", module);
+                record.put("test", test.getKey());
+                record.put("quarkusVersion", quarkusVersion);
+                record.put("mode", mode);
+                record.put("metrics", metrics);
+                writer.write(Serialization.jsonMapper().writeValueAsString(record));
+                writer.newLine();
+            }
+        }
+    }
+
+    private void report(List<Comparison> comparisons) throws IOException {
+        StringBuilder text = new StringBuilder("Comparison with Quarkus " + baselineVersion + " (" + mode + ")\n");
+        if (comparisons.isEmpty()) {
+            text.append("no baseline\n");
+        }
+        for (Comparison comparison : comparisons) {
+            text.append(comparison).append("\n");
+            if (comparison.regression) {
+                System.out.println(ansi().fgRed().a("performance regression ").reset().a(comparison));
+            }
+        }
+
+        Files.createDirectories(PerformanceBudgets.REPORT_DIR);
+        Files.write(PerformanceBudgets.REPORT_DIR.resolve(testClass + "-performance-comparison.txt"),
+                text.toString().getBytes(StandardCharsets.UTF_8));
+        System.out.println(ansi().a("compared ").a(comparisons.size()).a(" measurements with baseline Quarkus ")
+                .fgYellow().a(baselineVersion).reset().a(" (").a(mode).a("), stored them in ").fgYellow().a(file).reset());
+    }
+
+    static Optional<Comparison> compare(String test, Metric metric, List<Double> baseline, double current) {
+        if (baseline.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Double> recent = baseline.subList(Math.max(0, baseline.size() - MAX_BASELINE_RUNS), baseline.size());
+        double mean = recent.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        double standardDeviation = 0;
+        if (recent.size() > 1) {
+            double sumOfSquares = recent.stream().mapToDouble(it -> (it - mean) * (it - mean)).sum();
+            standardDeviation = Math.sqrt(sumOfSquares / (recent.size() - 1));
+        }
+
+        double worsening = metric.lowerIsBetter ? current - mean : mean - current;
+        boolean regression = worsening > Math.abs(mean) * MIN_RELATIVE_CHANGE
+                && (recent.size() < 2 || worsening > standardDeviation * MIN_STANDARD_DEVIATIONS);
+        return Optional.of(new Comparison(test, metric, current, mean, standardDeviation, recent.size(), regression));
+    }
+}
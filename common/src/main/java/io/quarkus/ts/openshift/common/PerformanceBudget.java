@@ -0,0 +1,50 @@
+package io.quarkus.ts.openshift.common;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Turns a test method into a performance gate. After the test method passes, the test framework generates HTTP load
+ * against given {@link #endpoint()} of the application (see {@link io.quarkus.ts.openshift.common.util.LoadGenerator
+ * LoadGenerator}), first to warm up the application and then to measure it, and fails the test if the measured
+ * latency or throughput exceeds the budget, or if any request fails.
+ * <p>
+ * Performance budgets are only evaluated when the {@code ts.performance-budgets} system property is set,
+ * so that they don't slow down functional test runs. Histograms of measured latencies are written into
+ * {@code target/failsafe-reports}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PerformanceBudget {
+    /**
+     * Path of the endpoint that receives {@code GET} requests, relative to the HTTP root of the application.
+     */
+    String endpoint();
+
+    /**
+     * Maximum 99th percentile of latency, in milliseconds. Not checked if negative.
+     */
+    long p99Millis() default -1;
+
+    /**
+     * Minimum throughput, in successful requests per second. Not checked if negative.
+     */
+    double minRps() default -1;
+
+    /**
+     * Number of concurrent users in the closed loop mode. Ignored if {@link #rate()} is set.
+     */
+    int users() default 10;
+
+    /**
+     * If positive, requests are sent in the open loop mode at this constant rate (requests per second),
+     * instead of from {@link #users()} concurrent users.
+     */
+    int rate() default 0;
+
+    int warmUpSeconds() default 10;
+
+    int durationSeconds() default 30;
+}
@@ -0,0 +1,131 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.config.Config;
+import io.quarkus.ts.openshift.common.util.LoadGenerator;
+import io.quarkus.ts.openshift.common.util.LoadResult;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Evaluates {@link PerformanceBudget @PerformanceBudget} of a test method. For each test method, the measured
+ * latency histogram is written into {@code target/failsafe-reports/[test class].[test method]-performance.hlog}
+ * (HdrHistogram log format) and a human-readable percentile distribution into
+ * {@code target/failsafe-reports/[test class].[test method]-performance.txt}.
+ */
+final class PerformanceBudgets {
+    static final String CONFIG_KEY = "ts.performance-budgets";
+
+    static final Path REPORT_DIR = Paths.get("target", "failsafe-reports");
+
+    static boolean isEnabled() {
+        return Config.get().getAsBoolean(CONFIG_KEY, false);
+    }
+
+    /**
+     * Warms up the application and then measures it. Writes the measured latencies into {@link #REPORT_DIR}.
+     */
+    static LoadResult measure(PerformanceBudget budget, String testName, LoadGenerator load, PhaseTimeline timeline)
+            throws IOException {
+        try (PhaseTimeline.Span ignored = timeline.start("performance budget warm-up")) {
+            run(budget, load, budget.warmUpSeconds());
+        }
+
+        LoadResult result;
+        try (PhaseTimeline.Span ignored = timeline.start("performance budget")) {
+            result = run(budget, load, budget.durationSeconds());
+        }
+
+        writeReport(testName, result);
+        return result;
+    }
+
+    /**
+     * Throws an {@link AssertionFailedError} with the latency distribution if the {@code result} exceeds the budget.
+     */
+    static void check(PerformanceBudget budget, LoadResult result) {
+        List<String> violations = violations(budget, result);
+        if (!violations.isEmpty()) {
+            StringBuilder message = new StringBuilder("Performance budget of " + budget.endpoint() + " exceeded:\n");
+            for (String violation : violations) {
+                message.append("- ").append(violation).append("\n");
+            }
+            message.append(result.summary()).append("\n");
+            message.append("Latency distribution in ms (raw data in ").append(REPORT_DIR).append("):\n");
+            message.append(percentileDistribution(result, 1));
+            throw new AssertionFailedError(message.toString());
+        }
+
+        System.out.println(ansi().a("performance budget of ").fgYellow().a(budget.endpoint()).reset()
+                .a(" ").fgGreen().a("met").reset());
+    }
+
+    private static LoadResult run(PerformanceBudget budget, LoadGenerator load, int seconds) {
+        if (budget.rate() > 0) {
+            return load.openLoop(budget.endpoint(), budget.rate(), seconds, TimeUnit.SECONDS);
+        }
+        return load.closedLoop(budget.endpoint(), budget.users(), seconds, TimeUnit.SECONDS);
+    }
+
+    static List<String> violations(PerformanceBudget budget, LoadResult result) {
+        List<String> violations = new ArrayList<>();
+        if (result.getErrors() > 0) {
+            violations.add(result.getErrors() + " of " + result.getRequests() + " requests failed ("
+                    + result.getHttpErrors() + " HTTP errors, " + result.getIoErrors() + " I/O errors)");
+        }
+        if (budget.p99Millis() >= 0 && result.getLatencyMillis(99) > budget.p99Millis()) {
+            violations.add(String.format("p99 latency %.1f ms is over %d ms", result.getLatencyMillis(99), budget.p99Millis()));
+        }
+        if (budget.minRps() >= 0 && result.getThroughput() < budget.minRps()) {
+            violations.add(String.format("throughput %.1f req/s is under %.1f req/s", result.getThroughput(), budget.minRps()));
+        }
+        return violations;
+    }
+
+    private static void writeReport(String testName, LoadResult result) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+
+        Path histogramLog = REPORT_DIR.resolve(testName + "-performance.hlog");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(histogramLog), false, "UTF-8")) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputComment("latencies of " + testName + " in microseconds");
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            writer.outputIntervalHistogram(result.getLatencyHistogram());
+        }
+
+        Path textReport = REPORT_DIR.resolve(testName + "-performance.txt");
+        String text = result.summary() + "\n\nLatency distribution (ms):\n" + percentileDistribution(result, 5);
+        Files.write(textReport, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String percentileDistribution(LoadResult result, int ticksPerHalfDistance) {
+        Histogram histogram = result.getLatencyHistogram();
+        if (histogram.getTotalCount() == 0) {
+            return "(no successful requests)\n";
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(bytes, false, "UTF-8")) {
+            // the histogram is in microseconds
+            histogram.outputPercentileDistribution(out, ticksPerHalfDistance, 1000.0);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
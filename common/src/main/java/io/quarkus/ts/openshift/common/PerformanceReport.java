@@ -0,0 +1,273 @@
+package io.quarkus.ts.openshift.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Merges {@linkplain PhaseTimeline phase timelines} of all modules into {@code target/ts-performance-report.txt}
+ * in the root directory of the test suite. Lives in the root extension context; when it's closed (that is,
+ * after all tests in a module finish), the report is regenerated from timelines of all modules built so far,
+ * so after the last module, it covers the whole build.
+ * <p>
+ * For each module, the report shows the critical path: the chain of top-level spans that determined
+ * the wall-clock time of the module. It's found by starting at the span that finished last and repeatedly
+ * stepping to the span that finished last before the current one started.
+ * <p>
+ * If {@linkplain FootprintRecorder footprint recording} is enabled, the report also contains peak, 95th percentile
+ * and idle CPU and memory usage of each pod.
+ */
+final class PerformanceReport implements CloseableResource {
+    static final String REPORT_FILE = "ts-performance-report.txt";
+    static final String DURATIONS_FILE = "ts-class-durations.properties";
+
+    private static final int SLOWEST_PHASES = 20;
+    private static final int MAX_SEARCH_DEPTH = 4;
+
+    static final class Span {
+        final String module;
+        final String testClass;
+        final String className;
+        final String phase;
+        final String parent;
+        final long start;
+        final long duration;
+
+        Span(String module, String testClass, String className, String phase, String parent, long start, long duration) {
+            this.module = module;
+            this.testClass = testClass;
+            this.className = className;
+            this.phase = phase;
+            this.parent = parent;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        long end() {
+            return start + duration;
+        }
+
+        boolean isTopLevel() {
+            return parent == null;
+        }
+    }
+
+    private final Path rootDirectory;
+    private final String module;
+
+    PerformanceReport() {
+        Path current = Paths.get("").toAbsolutePath();
+        Path root = current;
+        while (root.getParent() != null && Files.exists(root.getParent().resolve("pom.xml"))) {
+            root = root.getParent();
+        }
+        this.rootDirectory = root;
+        this.module = current.equals(root) ? current.getFileName().toString() : root.relativize(current).toString();
+
+        // timeline and footprint of the previous run of this module
+        try {
+            Files.deleteIfExists(PhaseTimeline.FILE);
+            Files.deleteIfExists(FootprintRecorder.FILE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String module() {
+        return module;
+    }
+
+    Path rootDirectory() {
+        return rootDirectory;
+    }
+
+    @Override
+    public void close() {
+        try {
+            List<Span> spans = new ArrayList<>();
+            for (Path file : findModuleFiles(PhaseTimeline.FILE)) {
+                spans.addAll(load(file));
+            }
+            List<JsonNode> footprints = new ArrayList<>();
+            for (Path file : findModuleFiles(FootprintRecorder.FILE)) {
+                footprints.addAll(loadFootprints(file));
+            }
+
+            Path report = rootDirectory.resolve("target").resolve(REPORT_FILE);
+            Files.createDirectories(report.getParent());
+            String content = render(spans);
+            if (!footprints.isEmpty()) {
+                content += renderFootprints(footprints);
+            }
+            Files.write(report, content.getBytes(StandardCharsets.UTF_8));
+            System.out.println(ansi().a("performance report written to ").fgYellow().a(report).reset());
+
+            ShardPlanner.writeDurations(classDurations(spans), report.resolveSibling(DURATIONS_FILE));
+        } catch (IOException e) {
+            System.out.println(ansi().a("couldn't write performance report: ").fgRed().a(e.getMessage()).reset());
+        }
+    }
+
+    // finds given file in the target directory of all modules
+    private List<Path> findModuleFiles(Path file) throws IOException {
+        Path fileName = file.getFileName();
+        try (Stream<Path> paths = Files.find(rootDirectory, MAX_SEARCH_DEPTH,
+                (path, attributes) -> path.getFileName().equals(fileName)
+                        && path.getParent().getFileName().toString().equals("target"))) {
+            return paths.sorted().collect(Collectors.toList());
+        }
+    }
+
+    static List<Span> load(Path file) throws IOException {
+        List<Span> result = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            JsonNode json = Serialization.jsonMapper().readTree(line);
+            result.add(new Span(
+                    json.path("module").asText(),
+                    json.path("testClass").asText(),
+                    json.path("className").asText(),
+                    json.path("phase").asText(),
+                    json.has("parent") ? json.get("parent").asText() : null,
+                    json.path("startMillis").asLong(),
+                    json.path("durationMillis").asLong()));
+        }
+        return result;
+    }
+
+    static String render(List<Span> spans) {
+        StringBuilder result = new StringBuilder();
+        List<Span> topLevel = spans.stream().filter(Span::isTopLevel).collect(Collectors.toList());
+        Map<String, List<Span>> byModule = topLevel.stream()
+                .collect(Collectors.groupingBy(it -> it.module, TreeMap::new, Collectors.toList()));
+
+        long testClasses = topLevel.stream().map(it -> it.module + "/" + it.testClass).distinct().count();
+        result.append("Performance report: ").append(byModule.size()).append(" modules, ")
+                .append(testClasses).append(" test classes, ")
+                .append(formatMillis(topLevel.stream().mapToLong(it -> it.duration).sum())).append(" in phases\n");
+
+        for (Map.Entry<String, List<Span>> entry : byModule.entrySet()) {
+            List<Span> moduleSpans = entry.getValue();
+            long wallClock = moduleSpans.stream().mapToLong(Span::end).max().orElse(0)
+                    - moduleSpans.stream().mapToLong(it -> it.start).min().orElse(0);
+            List<Span> criticalPath = criticalPath(moduleSpans);
+
+            result.append("\nModule ").append(entry.getKey())
+                    .append(": wall clock ").append(formatMillis(wallClock))
+                    .append(", critical path ").append(formatMillis(criticalPath.stream().mapToLong(it -> it.duration).sum()))
+                    .append("\n");
+            for (Span span : criticalPath) {
+                result.append(String.format("  %10s  %-40s %s%n", formatMillis(span.duration), span.testClass, span.phase));
+            }
+        }
+
+        result.append("\nSlowest phases:\n");
+        spans.stream()
+                .sorted(Comparator.comparingLong((Span it) -> it.duration).reversed())
+                .limit(SLOWEST_PHASES)
+                .forEach(span -> result.append(String.format("  %10s  %-25s %-40s %s%n", formatMillis(span.duration),
+                        span.module, span.testClass, span.parent != null ? span.parent + " > " + span.phase : span.phase)));
+
+        result.append("\nTotals per phase:\n");
+        spans.stream()
+                .collect(Collectors.groupingBy(it -> it.phase, Collectors.toList()))
+                .entrySet()
+                .stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, List<Span>> it) -> it.getValue().stream().mapToLong(span -> span.duration).sum()).reversed())
+                .forEach(phase -> {
+                    long total = phase.getValue().stream().mapToLong(it -> it.duration).sum();
+                    long max = phase.getValue().stream().mapToLong(it -> it.duration).max().orElse(0);
+                    result.append(String.format("  %10s  %-30s count %d, max %s%n", formatMillis(total), phase.getKey(),
+                            phase.getValue().size(), formatMillis(max)));
+                });
+
+        return result.toString();
+    }
+
+    static List<JsonNode> loadFootprints(Path file) throws IOException {
+        List<JsonNode> result = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.trim().isEmpty()) {
+                result.add(Serialization.jsonMapper().readTree(line));
+            }
+        }
+        return result;
+    }
+
+    static String renderFootprints(List<JsonNode> footprints) {
+        StringBuilder result = new StringBuilder();
+        result.append("\nFootprint (memory in MB, CPU in millicores):\n");
+        result.append(String.format("  %-25s %-40s %-30s %8s %8s %8s %8s %8s %8s %10s%n", "module", "test class", "pod",
+                "mem peak", "mem p95", "mem idle", "cpu peak", "cpu p95", "cpu idle", "MB/req/s"));
+        footprints.stream()
+                .sorted(Comparator.comparing((JsonNode it) -> it.path("module").asText())
+                        .thenComparing(it -> it.path("testClass").asText())
+                        .thenComparing(it -> it.path("pod").asText()))
+                .forEach(it -> result.append(String.format("  %-25s %-40s %-30s %8s %8s %8s %8s %8s %8s %10s%n",
+                        it.path("module").asText(), it.path("testClass").asText(), it.path("pod").asText(),
+                        formatUsage(it, "peakMemoryMb"), formatUsage(it, "p95MemoryMb"), formatUsage(it, "idleMemoryMb"),
+                        formatUsage(it, "peakCpuMillicores"), formatUsage(it, "p95CpuMillicores"),
+                        formatUsage(it, "idleCpuMillicores"),
+                        it.has("memoryMbPerRps") ? String.format("%.3f", it.get("memoryMbPerRps").asDouble()) : "-")));
+        return result.toString();
+    }
+
+    // negative values mean there were no samples
+    private static String formatUsage(JsonNode footprint, String field) {
+        double value = footprint.path(field).asDouble(-1);
+        return value >= 0 ? String.format("%.0f", value) : "-";
+    }
+
+    /**
+     * Returns total duration of top-level spans of each test class, by fully qualified class name.
+     * This is used as input for {@link ShardPlanner}.
+     */
+    static Map<String, Long> classDurations(List<Span> spans) {
+        return spans.stream()
+                .filter(Span::isTopLevel)
+                .filter(it -> !it.className.isEmpty())
+                .collect(Collectors.groupingBy(it -> it.className, TreeMap::new, Collectors.summingLong(it -> it.duration)));
+    }
+
+    static List<Span> criticalPath(List<Span> topLevelSpans) {
+        List<Span> sorted = new ArrayList<>(topLevelSpans);
+        sorted.sort(Comparator.comparingLong(Span::end));
+
+        List<Span> result = new ArrayList<>();
+        int current = sorted.size() - 1;
+        while (current >= 0) {
+            Span span = sorted.get(current);
+            result.add(span);
+            int previous = current - 1;
+            while (previous >= 0 && sorted.get(previous).end() > span.start) {
+                previous--;
+            }
+            current = previous;
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static String formatMillis(long millis) {
+        return String.format("%.1f s", millis / 1000.0);
+    }
+}
@@ -0,0 +1,128 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timed spans of a single test class, such as deploying the application, building it or running the tests.
+ * The test framework records its own phases, and tests can add their own spans; a span started while
+ * another span is open is nested in it.
+ * <p>
+ * When the test class finishes, the spans are appended to {@code target/ts-phase-timeline.jsonl} as JSON lines.
+ * After all tests in a module finish, timelines of all modules are merged into a report,
+ * see {@link PerformanceReport}.
+ * <p>
+ * Can be injected using {@link io.quarkus.ts.openshift.common.injection.TestResource @TestResource}.
+ *
+ * <pre>
+ * try (PhaseTimeline.Span ignored = timeline.start("warm up")) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class PhaseTimeline implements CloseableResource {
+    static final Path FILE = Paths.get("target", "ts-phase-timeline.jsonl");
+
+    private static final Object FILE_LOCK = new Object();
+
+    /**
+     * A running span. Closing it records its duration.
+     */
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final String module;
+    private final String testClass;
+    private final String className;
+
+    private final Deque<String> open = new ArrayDeque<>();
+    private final List<Map<String, Object>> finished = new ArrayList<>();
+
+    PhaseTimeline(String module, String testClass, String className) {
+        this.module = module;
+        this.testClass = testClass;
+        this.className = className;
+    }
+
+    /**
+     * Starts a span of given {@code phase}. The span must be closed, preferably using try-with-resources.
+     */
+    public Span start(String phase) {
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        String parent;
+        synchronized (this) {
+            parent = open.peek();
+            open.push(phase);
+        }
+
+        return new Span() {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                long durationNanos = System.nanoTime() - startNanos;
+                synchronized (PhaseTimeline.this) {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    open.removeFirstOccurrence(phase);
+
+                    Map<String, Object> span = new LinkedHashMap<>();
+                    span.put("module", module);
+                    span.put("testClass", testClass);
+                    span.put("className", className);
+                    span.put("phase", phase);
+                    if (parent != null) {
+                        span.put("parent", parent);
+                    }
+                    span.put("startMillis", startMillis);
+                    span.put("durationMillis", durationNanos / 1_000_000);
+                    span.put("thread", Thread.currentThread().getName());
+                    finished.add(span);
+                }
+            }
+        };
+    }
+
+    @Override
+    public synchronized void close() {
+        if (finished.isEmpty()) {
+            return;
+        }
+
+        // test classes running concurrently write into the same file
+        synchronized (FILE_LOCK) {
+            try {
+                Files.createDirectories(FILE.getParent());
+                try (BufferedWriter writer = Files.newBufferedWriter(FILE, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (Map<String, Object> span : finished) {
+                        writer.write(Serialization.jsonMapper().writeValueAsString(span));
+                        writer.newLine();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
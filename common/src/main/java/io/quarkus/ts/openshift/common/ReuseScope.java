@@ -0,0 +1,23 @@
+package io.quarkus.ts.openshift.common;
+
+/**
+ * Defines which test classes share a single deployment of the test application, see {@link OpenShiftTest#reuse()}.
+ */
+public enum ReuseScope {
+    /**
+     * The application is deployed before the tests in the test class and undeployed after them.
+     */
+    CLASS,
+    /**
+     * The application is deployed once and shared by all test classes in the module (that is, in the JVM running
+     * the tests) that have the same application, the same {@code target/kubernetes/openshift.yml}, the same
+     * {@link AdditionalResources @AdditionalResources} and the same
+     * {@link CustomizeApplicationDeployment @CustomizeApplicationDeployment} methods. The application is undeployed
+     * when all tests finish.
+     * <p>
+     * {@code @CustomizeApplicationDeployment} methods are only invoked when the application is actually deployed,
+     * that is, for the first test class. This can't be combined with {@link ManualApplicationDeployment @ManualApplicationDeployment}
+     * or {@link CustomizeApplicationUndeployment @CustomizeApplicationUndeployment}.
+     */
+    MODULE,
+}
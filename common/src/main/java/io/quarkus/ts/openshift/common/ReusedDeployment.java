@@ -0,0 +1,127 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.config.Config;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Deployment of the test application (together with its additional resources and, possibly, ephemeral namespace)
+ * that is shared by multiple test classes, see {@link ReuseScope#MODULE}. Lives in the root extension context
+ * under its {@linkplain #key(String, Path, List, List) key}, and is undeployed when the root context is closed.
+ * Test class contexts must never store it, because closeable values are closed when the test class finishes.
+ */
+final class ReusedDeployment implements CloseableResource {
+    /**
+     * The key consists of the application name and a hash of everything that determines how the application
+     * is deployed.
+     */
+    static String key(String appName, Path resourcesYaml, List<String> additionalResources,
+                      List<Method> customizers) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        digest.update(Files.readAllBytes(resourcesYaml));
+        for (String additionalResource : additionalResources) {
+            digest.update(additionalResource.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        // order of `Class.getMethods()` is unspecified
+        List<String> customizerNames = customizers.stream()
+                .map(it -> it.getDeclaringClass().getName() + "." + it.getName())
+                .sorted()
+                .collect(Collectors.toList());
+        for (String customizerName : customizerNames) {
+            digest.update(customizerName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        String imageOverrides = Config.get().getAsString(ImageOverrides.CONFIG_KEY, "");
+        digest.update(imageOverrides.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder result = new StringBuilder(appName).append('@');
+        for (byte b : digest.digest()) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+
+    final String key;
+    final String appName;
+    final String namespace;
+    final EphemeralNamespace ephemeralNamespace;
+    final String deployedBy;
+
+    private final List<HasMetadata> applicationResources;
+    private final List<List<HasMetadata>> additionalResources;
+    private final SharedOpenShiftClient sharedClient;
+    private final List<TestsStatus> users = new CopyOnWriteArrayList<>();
+
+    ReusedDeployment(String key, String appName, String namespace, EphemeralNamespace ephemeralNamespace,
+                     String deployedBy, List<HasMetadata> applicationResources,
+                     List<List<HasMetadata>> additionalResources, SharedOpenShiftClient sharedClient) {
+        this.key = key;
+        this.appName = appName;
+        this.namespace = namespace;
+        this.ephemeralNamespace = ephemeralNamespace;
+        this.deployedBy = deployedBy;
+        this.applicationResources = applicationResources;
+        this.additionalResources = additionalResources;
+        this.sharedClient = sharedClient;
+    }
+
+    void addUser(TestsStatus testsStatus) {
+        users.add(testsStatus);
+    }
+
+    // root context values are closed in reverse order of insertion; the shared client and `AsyncTeardown`
+    // are stored before the deployment is shared, so they are closed after this (see `SharedOpenShiftClient`);
+    // everything is done synchronously anyway, as all tests are finished and there's nothing to overlap with
+    @Override
+    public void close() {
+        if (RetainOnFailure.isEnabled() && users.stream().anyMatch(it -> it.failed)) {
+            System.out.println(ansi().a("some tests using shared deployment of ").fgYellow().a(appName).reset()
+                    .a(" failed, not deleting any resources in namespace ").fgYellow().a(namespace).reset());
+            return;
+        }
+
+        OpenShiftClientResource client = sharedClient.forTestClass("shared deployment of " + appName, namespace);
+        try {
+            OpenShiftClient oc = client.client;
+            if (ephemeralNamespace != null) {
+                System.out.println(ansi().a("dropping ephemeral namespace ").fgYellow().a(namespace).reset()
+                        .a(" of shared deployment of ").fgYellow().a(appName).reset());
+                oc.projects().withName(namespace).delete();
+                return;
+            }
+
+            System.out.println(ansi().a("undeploying shared deployment of ").fgYellow().a(appName).reset());
+            oc.resourceList(applicationResources).inNamespace(namespace).delete();
+            List<List<HasMetadata>> reversed = new ArrayList<>(additionalResources);
+            Collections.reverse(reversed);
+            for (List<HasMetadata> resources : reversed) {
+                oc.resourceList(resources).inNamespace(namespace).delete();
+            }
+        } finally {
+            client.close();
+        }
+    }
+}
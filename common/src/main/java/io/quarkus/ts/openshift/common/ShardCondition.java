@@ -0,0 +1,33 @@
+package io.quarkus.ts.openshift.common;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Optional;
+
+public class ShardCondition implements ExecutionCondition {
+    private static final ConditionEvaluationResult ENABLED_BY_DEFAULT = ConditionEvaluationResult.enabled(
+            "Configuration property " + ShardPlanner.CONFIG_KEY + " is not set");
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        Optional<ShardPlanner> planner = ShardPlanner.current();
+        // test methods are only evaluated if their test class is enabled
+        if (!planner.isPresent() || context.getTestMethod().isPresent() || !context.getTestClass().isPresent()) {
+            return ENABLED_BY_DEFAULT;
+        }
+
+        // nested test classes belong to the same shard as their enclosing class
+        Class<?> testClass = context.getRequiredTestClass();
+        while (testClass.getEnclosingClass() != null) {
+            testClass = testClass.getEnclosingClass();
+        }
+        String className = testClass.getName();
+        int shard = planner.get().shardOf(className);
+        String description = "Test class " + className + " belongs to shard " + shard + "/" + planner.get().shards;
+        return planner.get().isInCurrentShard(className)
+                ? ConditionEvaluationResult.enabled(description)
+                : ConditionEvaluationResult.disabled(description);
+    }
+}
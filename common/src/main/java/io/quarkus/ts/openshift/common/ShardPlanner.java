@@ -0,0 +1,186 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.config.Config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Splits test classes into shards with balanced total duration, based on durations of test classes
+ * recorded by earlier runs (see {@link PerformanceReport}, which writes {@code target/ts-class-durations.properties}
+ * in the root directory). Uses the longest-processing-time-first algorithm: test classes are assigned,
+ * from the longest to the shortest, to the shard with the smallest total duration so far.
+ * <p>
+ * If {@code -Dts.shard=i/N} is set, only test classes assigned to the {@code i}-th of {@code N} shards are executed
+ * (see {@link ShardCondition}). Durations are read from the file set by {@code -Dts.shard-durations}. Test classes
+ * without recorded duration are assigned to shards based on a hash of their name.
+ * <p>
+ * Running the {@link #main(String[]) main} method writes the plan as lists of test classes for Failsafe
+ * ({@code -Dit.test=...}), one file per shard.
+ */
+public final class ShardPlanner {
+    static final String CONFIG_KEY = "ts.shard";
+    static final String DURATIONS_CONFIG_KEY = "ts.shard-durations";
+
+    private static volatile ShardPlanner current;
+
+    final int shard;
+    final int shards;
+    private final Map<String, Integer> plan;
+
+    ShardPlanner(int shard, int shards, Map<String, Integer> plan) {
+        this.shard = shard;
+        this.shards = shards;
+        this.plan = plan;
+    }
+
+    /**
+     * Returns the planner for the shard configured with {@code -Dts.shard}, if set.
+     */
+    static Optional<ShardPlanner> current() {
+        String value = Config.get().getAsString(CONFIG_KEY, null);
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        ShardPlanner result = current;
+        if (result == null) {
+            synchronized (ShardPlanner.class) {
+                result = current;
+                if (result == null) {
+                    String[] parts = value.split("/");
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("Invalid " + CONFIG_KEY + ": " + value + ", expected i/N");
+                    }
+                    int shard = Integer.parseInt(parts[0].trim());
+                    int shards = Integer.parseInt(parts[1].trim());
+                    if (shards < 1 || shard < 1 || shard > shards) {
+                        throw new IllegalArgumentException("Invalid " + CONFIG_KEY + ": " + value + ", expected 1 <= i <= N");
+                    }
+
+                    String durationsFile = Config.get().getAsString(DURATIONS_CONFIG_KEY, null);
+                    Map<String, Long> durations = durationsFile != null
+                            ? readDurations(Paths.get(durationsFile))
+                            : new HashMap<>();
+                    result = new ShardPlanner(shard, shards, plan(durations, shards));
+                    current = result;
+                }
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Returns the shard (1-based) of given test class.
+     */
+    int shardOf(String className) {
+        Integer result = plan.get(className);
+        if (result != null) {
+            return result;
+        }
+        return Math.floorMod(className.hashCode(), shards) + 1;
+    }
+
+    boolean isInCurrentShard(String className) {
+        return shardOf(className) == shard;
+    }
+
+    /**
+     * Assigns test classes with given {@code durations} to {@code shards} shards (1-based)
+     * using the longest-processing-time-first algorithm.
+     */
+    static Map<String, Integer> plan(Map<String, Long> durations, int shards) {
+        List<Map.Entry<String, Long>> classes = new ArrayList<>(durations.entrySet());
+        classes.sort(Map.Entry.<String, Long> comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        // [total duration, shard]
+        PriorityQueue<long[]> loads = new PriorityQueue<>(Comparator.<long[]> comparingLong(it -> it[0])
+                .thenComparingLong(it -> it[1]));
+        for (int i = 1; i <= shards; i++) {
+            loads.add(new long[] { 0, i });
+        }
+
+        Map<String, Integer> result = new HashMap<>();
+        for (Map.Entry<String, Long> testClass : classes) {
+            long[] load = loads.poll();
+            result.put(testClass.getKey(), (int) load[1]);
+            load[0] += testClass.getValue();
+            loads.add(load);
+        }
+        return result;
+    }
+
+    static Map<String, Long> readDurations(Path file) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't read test class durations from " + file, e);
+        }
+
+        Map<String, Long> result = new TreeMap<>();
+        for (String className : properties.stringPropertyNames()) {
+            result.put(className, Long.parseLong(properties.getProperty(className).trim()));
+        }
+        return result;
+    }
+
+    static void writeDurations(Map<String, Long> durations, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# test class durations in milliseconds, see -D" + DURATIONS_CONFIG_KEY + "\n");
+            for (Map.Entry<String, Long> entry : new TreeMap<>(durations).entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Usage: {@code ShardPlanner <durations file> <number of shards> [<output directory>]}.
+     * Writes {@code shard-<i>.txt} files with comma-separated test classes into the output directory
+     * (current directory by default) and prints expected duration of each shard.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardPlanner <durations file> <number of shards> [<output directory>]");
+            System.exit(1);
+        }
+
+        Map<String, Long> durations = readDurations(Paths.get(args[0]));
+        int shards = Integer.parseInt(args[1]);
+        Path outputDirectory = Paths.get(args.length > 2 ? args[2] : ".");
+
+        Map<String, Integer> plan = plan(durations, shards);
+        Files.createDirectories(outputDirectory);
+        for (int i = 1; i <= shards; i++) {
+            int shard = i;
+            List<String> classes = plan.entrySet()
+                    .stream()
+                    .filter(it -> it.getValue() == shard)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .collect(Collectors.toList());
+            long total = classes.stream().mapToLong(durations::get).sum();
+
+            Path file = outputDirectory.resolve("shard-" + shard + ".txt");
+            Files.write(file, String.join(",", classes).getBytes(StandardCharsets.UTF_8));
+            System.out.printf("shard %d: %d test classes, %.1f s -> %s%n", shard, classes.size(), total / 1000.0, file);
+        }
+    }
+}
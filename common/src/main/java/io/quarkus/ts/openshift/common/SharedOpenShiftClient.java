@@ -0,0 +1,105 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.client.utils.HttpClientUtils;
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfig;
+import io.fabric8.openshift.client.OpenShiftConfigBuilder;
+import io.quarkus.ts.openshift.common.config.Config;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.logging.HttpLoggingInterceptor;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single HTTP client for talking to the OpenShift API server, shared by all test classes, so that
+ * connections (and TLS sessions) are reused across test classes. Lives in the root extension context.
+ * <p>
+ * Each test class gets its own {@link OpenShiftClient} on top of the shared connection pool and dispatcher
+ * (see {@link #forTestClass(String, String)}), which records API request metrics of that test class.
+ * Background components that outlive test classes ({@link AsyncTeardown}, {@link EphemeralNamespacePool},
+ * {@link ReusedDeployment}) get their own clients the same way.
+ * <p>
+ * The root extension context closes its resources in reverse order of insertion, so this must be stored
+ * before all of its users, so that it's closed after them.
+ * <p>
+ * Connection pool size, request concurrency limits and HTTP/2 usage can be configured using
+ * {@code -Dts.openshift-client.*} properties.
+ */
+final class SharedOpenShiftClient implements CloseableResource {
+    static final String MAX_IDLE_CONNECTIONS_CONFIG_KEY = "ts.openshift-client.max-idle-connections";
+    static final String KEEP_ALIVE_CONFIG_KEY = "ts.openshift-client.keep-alive-seconds";
+    static final String MAX_REQUESTS_CONFIG_KEY = "ts.openshift-client.max-requests";
+    static final String MAX_REQUESTS_PER_HOST_CONFIG_KEY = "ts.openshift-client.max-requests-per-host";
+    static final String DISABLE_HTTP2_CONFIG_KEY = "ts.openshift-client.disable-http2";
+
+    private final OpenShiftConfig config;
+    private final OkHttpClient httpClient;
+
+    SharedOpenShiftClient() {
+        this(new OpenShiftConfigBuilder()
+                .withTrustCerts(true)
+                .build());
+    }
+
+    /**
+     * Creates a shared client that connects to the cluster described by given {@code baseConfig},
+     * e.g. the {@link MockCluster}.
+     */
+    SharedOpenShiftClient(OpenShiftConfig baseConfig) {
+        Config tsConfig = Config.get();
+        boolean http2 = !tsConfig.getAsBoolean(DISABLE_HTTP2_CONFIG_KEY, false);
+
+        config = new OpenShiftConfigBuilder(baseConfig)
+                .withHttp2Disable(!http2)
+                .build();
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(tsConfig.getAsInt(MAX_REQUESTS_CONFIG_KEY, 64));
+        dispatcher.setMaxRequestsPerHost(tsConfig.getAsInt(MAX_REQUESTS_PER_HOST_CONFIG_KEY, 20));
+
+        OkHttpClient.Builder builder = HttpClientUtils.createHttpClient(config).newBuilder();
+        // with trace logging enabled, the client logs request bodies, which consumes the streamed binary build uploads
+        builder.networkInterceptors().removeIf(interceptor -> interceptor instanceof HttpLoggingInterceptor);
+
+        // HTTP/2 is only used if the API server negotiates it via ALPN, otherwise HTTP/1.1 is used
+        httpClient = builder
+                .connectionPool(new ConnectionPool(tsConfig.getAsInt(MAX_IDLE_CONNECTIONS_CONFIG_KEY, 10),
+                        tsConfig.getAsInt(KEEP_ALIVE_CONFIG_KEY, 300), TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(http2
+                        ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                        : Collections.singletonList(Protocol.HTTP_1_1))
+                .build();
+    }
+
+    /**
+     * Returns a client for given test class (or background component), bound to given {@code namespace}
+     * (if not {@code null}). Closing the returned resource doesn't close the shared connections, it only prints
+     * the API request metrics.
+     */
+    OpenShiftClientResource forTestClass(String testClass, String namespace) {
+        ApiRequestMetrics metrics = new ApiRequestMetrics();
+        // the OpenShift client replaces all application interceptors, network interceptors are kept
+        OkHttpClient classHttpClient = httpClient.newBuilder()
+                .addNetworkInterceptor(metrics)
+                .build();
+        DefaultOpenShiftClient client = new DefaultOpenShiftClient(classHttpClient, config);
+        if (namespace != null) {
+            return OpenShiftClientResource.createShared(client.inNamespace(namespace), () -> metrics.print(testClass));
+        }
+        return OpenShiftClientResource.createShared(client, () -> metrics.print(testClass));
+    }
+
+    @Override
+    public void close() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+}
@@ -0,0 +1,128 @@
+package io.quarkus.ts.openshift.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Merges a desired configuration of a resource into the live resource the same way {@code oc apply} does,
+ * only with JSON merge patch semantics (arrays are replaced as a whole) instead of strategic merge.
+ * <p>
+ * The last applied configuration is kept in the {@value #LAST_APPLIED_ANNOTATION} annotation (the same
+ * that {@code oc apply} uses). Only fields that differ between the last applied and the desired configuration
+ * are changed in the live resource, and fields that were removed from the configuration are removed.
+ * Fields set by the server or by controllers (e.g. the host of a route, or images resolved by deployment
+ * triggers) are kept, unless the configuration changes them. If the live resource has no last applied
+ * configuration, all fields of the desired configuration are set, but nothing is removed.
+ */
+final class ThreeWayMerge {
+    static final String LAST_APPLIED_ANNOTATION = "kubectl.kubernetes.io/last-applied-configuration";
+
+    private ThreeWayMerge() {
+    }
+
+    /**
+     * Returns a copy of given {@code desired} configuration, annotated with itself as the last applied configuration.
+     */
+    static ObjectNode forCreate(ObjectNode desired) {
+        ObjectNode result = desired.deepCopy();
+        setLastApplied(result, desired);
+        return result;
+    }
+
+    /**
+     * Returns a copy of given {@code live} resource, updated with given {@code desired} configuration
+     * and annotated with it as the last applied configuration.
+     */
+    static ObjectNode merge(ObjectNode live, ObjectNode desired) {
+        ObjectNode desiredWithoutAnnotation = withoutLastApplied(desired);
+        ObjectNode lastApplied = lastApplied(live);
+        ObjectNode patch = lastApplied != null ? diff(lastApplied, desiredWithoutAnnotation) : desiredWithoutAnnotation;
+
+        ObjectNode result = live.deepCopy();
+        applyPatch(result, patch);
+        setLastApplied(result, desiredWithoutAnnotation);
+        return result;
+    }
+
+    /**
+     * Returns a JSON merge patch that changes {@code from} to {@code to}.
+     */
+    static ObjectNode diff(ObjectNode from, ObjectNode to) {
+        ObjectNode result = to.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> toFields = to.fields();
+        while (toFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = toFields.next();
+            JsonNode fromValue = from.get(field.getKey());
+            if (fromValue instanceof ObjectNode && field.getValue() instanceof ObjectNode) {
+                ObjectNode nested = diff((ObjectNode) fromValue, (ObjectNode) field.getValue());
+                if (nested.size() > 0) {
+                    result.set(field.getKey(), nested);
+                }
+            } else if (!field.getValue().equals(fromValue)) {
+                result.set(field.getKey(), field.getValue());
+            }
+        }
+        Iterator<String> fromFields = from.fieldNames();
+        while (fromFields.hasNext()) {
+            String field = fromFields.next();
+            if (!to.has(field)) {
+                result.putNull(field);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies given JSON merge {@code patch} to given {@code target} in place.
+     */
+    static void applyPatch(ObjectNode target, ObjectNode patch) {
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode targetValue = target.get(field.getKey());
+            if (field.getValue().isNull()) {
+                target.remove(field.getKey());
+            } else if (targetValue instanceof ObjectNode && field.getValue() instanceof ObjectNode) {
+                applyPatch((ObjectNode) targetValue, (ObjectNode) field.getValue());
+            } else {
+                target.set(field.getKey(), field.getValue().deepCopy());
+            }
+        }
+    }
+
+    private static ObjectNode lastApplied(ObjectNode resource) {
+        JsonNode annotation = resource.path("metadata").path("annotations").get(LAST_APPLIED_ANNOTATION);
+        if (annotation == null || !annotation.isTextual()) {
+            return null;
+        }
+        try {
+            JsonNode result = Serialization.jsonMapper().readTree(annotation.asText());
+            return result instanceof ObjectNode ? (ObjectNode) result : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static ObjectNode withoutLastApplied(ObjectNode resource) {
+        ObjectNode result = resource.deepCopy();
+        JsonNode annotations = result.path("metadata").path("annotations");
+        if (annotations instanceof ObjectNode) {
+            ((ObjectNode) annotations).remove(LAST_APPLIED_ANNOTATION);
+            if (annotations.size() == 0) {
+                ((ObjectNode) result.get("metadata")).remove("annotations");
+            }
+        }
+        return result;
+    }
+
+    private static void setLastApplied(ObjectNode resource, ObjectNode configuration) {
+        ObjectNode metadata = resource.has("metadata") ? (ObjectNode) resource.get("metadata") : resource.putObject("metadata");
+        ObjectNode annotations = metadata.has("annotations") ? (ObjectNode) metadata.get("annotations") : metadata.putObject("annotations");
+        annotations.put(LAST_APPLIED_ANNOTATION, withoutLastApplied(configuration).toString());
+    }
+}
@@ -1,42 +1,220 @@
 package io.quarkus.ts.openshift.common.actions;
 
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
 import io.fabric8.kubernetes.api.model.Pod;
-import io.quarkus.ts.openshift.common.Command;
+import io.fabric8.kubernetes.client.HttpClientAware;
+import io.fabric8.openshift.client.OpenShiftClient;
 import io.quarkus.ts.openshift.common.config.Config;
 import io.quarkus.ts.openshift.common.injection.TestResource;
 import io.quarkus.ts.openshift.common.util.OpenShiftUtil;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Copies logs of all containers of all pods in the namespace into {@code target/logs/<namespace>}.
+ * Logs of previously terminated containers (that is, before a restart) are copied as well.
+ * Pods are processed in parallel, using the log streaming API of the OpenShift client.
+ * <p>
+ * Logs of all containers of a single pod are capped at {@code -Dts.instance-logs-max-size-kb} (10 MB by default),
+ * and with {@code -Dts.instance-logs-gzip}, the logs are gzipped.
+ */
 public class CopyLogsOnOpenShiftFailureActionImpl implements OnOpenShiftFailureAction {
 
     private static final String INSTANCES_LOGS_OUTPUT_DIRECTORY = "ts.instance-logs";
+    private static final String INSTANCES_LOGS_GZIP = "ts.instance-logs-gzip";
+    private static final String INSTANCES_LOGS_MAX_SIZE_KB = "ts.instance-logs-max-size-kb";
     private static final String DEFAULT_LOG_OUTPUT_DIRECTORY = "target/logs";
     private static final String LOG_SUFFIX = ".log";
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private static final int DEFAULT_MAX_SIZE_KB = 10 * 1024;
+    private static final int PARALLELISM = 8;
+    private static final long TIMEOUT_SECONDS = 120;
+    private static final int BUFFER_SIZE = 8192;
 
     @TestResource
     private OpenShiftUtil openShiftUtil;
 
+    @TestResource
+    private OpenShiftClient oc;
+
     @TestResource
     private Config config;
 
     @Override
     public void execute() throws Exception {
         String namespace = openShiftUtil.getNamespace();
-        for (Pod pod : openShiftUtil.getPods()) {
-            String podName = pod.getMetadata().getName();
-            new Command("oc", "logs", podName).outputToFile(getOutputFile(podName, namespace)).runAndWait();
+        List<Pod> pods = openShiftUtil.getPods();
+        if (pods.isEmpty()) {
+            return;
+        }
+
+        Path outputDirectory = Paths.get(getOutputFolder(), namespace);
+        Files.createDirectories(outputDirectory);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(pods.size(), PARALLELISM), runnable -> {
+            Thread thread = new Thread(runnable, "pod-logs");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<String> failures = new CopyOnWriteArrayList<>();
+        try {
+            CompletableFuture<?>[] futures = pods.stream()
+                    .map(pod -> CompletableFuture.runAsync(() -> {
+                        try {
+                            copyLogs(namespace, pod, outputDirectory);
+                        } catch (Exception e) {
+                            failures.add(pod.getMetadata().getName() + ": " + e.getMessage());
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            failures.add("copying logs didn't finish in " + TIMEOUT_SECONDS + " seconds");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!failures.isEmpty()) {
+            throw new Exception("Failed to copy logs of some pods: " + String.join(", ", failures));
         }
     }
 
-    private String getOutputFolder() {
-        return config.getAsString(INSTANCES_LOGS_OUTPUT_DIRECTORY, DEFAULT_LOG_OUTPUT_DIRECTORY);
+    private void copyLogs(String namespace, Pod pod, Path outputDirectory) throws IOException {
+        String podName = pod.getMetadata().getName();
+
+        Map<String, Integer> restarts = new HashMap<>();
+        List<ContainerStatus> statuses = new ArrayList<>();
+        if (pod.getStatus() != null) {
+            statuses.addAll(pod.getStatus().getInitContainerStatuses());
+            statuses.addAll(pod.getStatus().getContainerStatuses());
+        }
+        for (ContainerStatus status : statuses) {
+            restarts.put(status.getName(), status.getRestartCount());
+        }
+
+        List<Container> containers = new ArrayList<>(pod.getSpec().getInitContainers());
+        containers.addAll(pod.getSpec().getContainers());
+        // main container logs keep the original file name `<pod>.log`
+        String mainContainer = pod.getSpec().getContainers().isEmpty() ? null : pod.getSpec().getContainers().get(0).getName();
+
+        long[] remaining = { config.getAsInt(INSTANCES_LOGS_MAX_SIZE_KB, DEFAULT_MAX_SIZE_KB) * 1024L };
+        for (Container container : containers) {
+            String containerName = container.getName();
+            String fileName = containerName.equals(mainContainer) ? podName : podName + "-" + containerName;
+
+            if (restarts.getOrDefault(containerName, 0) > 0 && remaining[0] > 0) {
+                try (InputStream log = openLog(namespace, podName, containerName, true, remaining[0])) {
+                    copy(log, outputDirectory.resolve(fileName + ".previous" + LOG_SUFFIX), remaining);
+                }
+            }
+
+            if (remaining[0] > 0) {
+                try (InputStream log = openLog(namespace, podName, containerName, false, remaining[0])) {
+                    copy(log, outputDirectory.resolve(fileName + LOG_SUFFIX), remaining);
+                }
+            }
+        }
     }
 
-    private File getOutputFile(String name, String customLogFolderName) {
-        File outputDirectory = new File(getOutputFolder(), customLogFolderName);
-        outputDirectory.mkdirs();
-        return new File(outputDirectory, name + LOG_SUFFIX);
+    // the client only provides logs as characters (`getLogReader()`), which would have to be encoded again,
+    // so the log is requested directly and copied as is; returns `null` if there's no such log
+    private InputStream openLog(String namespace, String podName, String containerName, boolean previous,
+                                long limitBytes) throws IOException {
+        HttpUrl url = HttpUrl.get(oc.getMasterUrl().toString()).newBuilder()
+                .addPathSegments("api/v1/namespaces")
+                .addPathSegment(namespace)
+                .addPathSegment("pods")
+                .addPathSegment(podName)
+                .addPathSegment("log")
+                .addQueryParameter("container", containerName)
+                .addQueryParameter("previous", String.valueOf(previous))
+                .addQueryParameter("limitBytes", String.valueOf(limitBytes))
+                .build();
+        OkHttpClient httpClient = ((HttpClientAware) oc).getHttpClient();
+        Response response = httpClient.newCall(new Request.Builder().url(url).get().build()).execute();
+        if (response.code() == 404) {
+            response.close();
+            return null;
+        }
+        if (!response.isSuccessful()) {
+            response.close();
+            throw new IOException("Failed to get log of container " + containerName + ": HTTP " + response.code());
+        }
+        return response.body().byteStream();
+    }
+
+    private void copy(InputStream log, Path file, long[] remaining) throws IOException {
+        if (log == null) {
+            return;
+        }
+
+        boolean gzip = config.getAsBoolean(INSTANCES_LOGS_GZIP, false);
+        if (gzip) {
+            file = file.resolveSibling(file.getFileName() + GZIP_SUFFIX);
+        }
+
+        try (WritableByteChannel channel = openChannel(file, gzip)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = log.read(buffer)) != -1) {
+                ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                if (bytes.remaining() >= remaining[0]) {
+                    bytes.limit((int) remaining[0]);
+                    writeFully(channel, bytes);
+                    remaining[0] = 0;
+                    writeFully(channel, ByteBuffer.wrap("\n... log truncated, see -Dts.instance-logs-max-size-kb\n"
+                            .getBytes(StandardCharsets.UTF_8)));
+                    return;
+                }
+                remaining[0] -= bytes.remaining();
+                writeFully(channel, bytes);
+            }
+        }
     }
 
+    private static WritableByteChannel openChannel(Path file, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        if (gzip) {
+            return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        }
+        return channel;
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private String getOutputFolder() {
+        return config.getAsString(INSTANCES_LOGS_OUTPUT_DIRECTORY, DEFAULT_LOG_OUTPUT_DIRECTORY);
+    }
 }
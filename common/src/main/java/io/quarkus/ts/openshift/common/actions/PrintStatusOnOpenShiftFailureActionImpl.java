@@ -1,12 +1,18 @@
 package io.quarkus.ts.openshift.common.actions;
 
 import io.quarkus.ts.openshift.common.Command;
+import io.quarkus.ts.openshift.common.injection.TestResource;
+import io.quarkus.ts.openshift.common.util.OpenShiftUtil;
 
 public class PrintStatusOnOpenShiftFailureActionImpl implements OnOpenShiftFailureAction {
 
+    @TestResource
+    private OpenShiftUtil openShiftUtil;
+
     @Override
     public void execute() throws Exception {
-        new Command("oc", "status", "--suggest").runAndWait();
+        // with parallel test classes, each of them has its own namespace, which isn't the current `oc` project
+        new Command("oc", "status", "--suggest", "-n", openShiftUtil.getNamespace()).runAndWait();
     }
 
 }
@@ -23,7 +23,8 @@ public class Config {
         return INSTANCE;
     }
 
-    private Config() {
+    // package-private for benchmarks, use `get()` otherwise
+    Config() {
         this.data = System.getProperties()
                 .entrySet()
                 .stream()
@@ -12,9 +12,14 @@ import java.lang.annotation.Target;
  *     <li>{@link io.fabric8.openshift.client.OpenShiftClient}</li>
  *     <li>{@link io.quarkus.ts.openshift.app.metadata.AppMetadata}</li>
  *     <li>{@link io.quarkus.ts.openshift.common.config.Config}</li>
+ *     <li>{@link io.quarkus.ts.openshift.common.DeploymentModel}</li>
+ *     <li>{@link io.quarkus.ts.openshift.common.PhaseTimeline}</li>
  *     <li>{@link io.quarkus.ts.openshift.common.util.AwaitUtil}</li>
+ *     <li>{@link io.quarkus.ts.openshift.common.util.LoadGenerator}</li>
  *     <li>{@link io.quarkus.ts.openshift.common.util.OpenShiftUtil}</li>
+ *     <li>{@link io.quarkus.ts.openshift.common.util.StartupProfiler}</li>
  *     <li>{@link java.net.URL} (see also {@link WithName @WithName})</li>
+ *     <li>{@link io.restassured.specification.RequestSpecification}</li>
  * </ul>
  */
 @Target({ElementType.FIELD, ElementType.PARAMETER})
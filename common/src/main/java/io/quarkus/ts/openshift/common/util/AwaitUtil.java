@@ -1,27 +1,38 @@
 package io.quarkus.ts.openshift.common.util;
 
 import io.fabric8.kubernetes.api.model.HasMetadata;
-import io.fabric8.kubernetes.client.Handlers;
-import io.fabric8.kubernetes.client.ResourceHandler;
 import io.fabric8.openshift.client.OpenShiftClient;
 import io.quarkus.ts.openshift.app.metadata.AppMetadata;
 import io.quarkus.ts.openshift.common.OpenShiftTestException;
+import io.restassured.RestAssured;
 
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-import static io.restassured.RestAssured.given;
 import static org.awaitility.Awaitility.await;
 import static org.fusesource.jansi.Ansi.ansi;
 
 public final class AwaitUtil {
     private final OpenShiftClient oc;
     private final AppMetadata metadata;
+    private final Supplier<String> appBaseUri;
+
+    private RouteProbe lastRouteProbe;
 
     public AwaitUtil(OpenShiftClient oc, AppMetadata metadata) {
+        this(oc, metadata, () -> RestAssured.baseURI);
+    }
+
+    /**
+     * @param appBaseUri supplies the base URI of the application route, used by {@link #awaitAppRoute()}
+     */
+    public AwaitUtil(OpenShiftClient oc, AppMetadata metadata, Supplier<String> appBaseUri) {
         this.oc = oc;
         this.metadata = metadata;
+        this.appBaseUri = appBaseUri;
     }
 
     public void awaitImageStream(String imageStream) {
@@ -36,45 +47,64 @@ public final class AwaitUtil {
     public void awaitAppRoute() {
         System.out.println(ansi().a("waiting for route ").fgYellow().a(metadata.appName).reset()
                 .a(" to start responding at ").fgYellow().a(metadata.knownEndpoint).reset());
-        await().ignoreExceptions().atMost(5, TimeUnit.MINUTES).untilAsserted(() -> {
-            given()
-                    // known endpoint is already httpRoot-adjusted
-                    .basePath("/")
-            .when()
-                    .get(metadata.knownEndpoint)
-            .then()
-                    .statusCode(200);
-        });
+        String baseUri = appBaseUri.get();
+        if (baseUri.endsWith("/")) {
+            baseUri = baseUri.substring(0, baseUri.length() - 1);
+        }
+        // known endpoint is already httpRoot-adjusted
+        RouteProbe probe = new RouteProbe(oc, metadata.appName, baseUri + metadata.knownEndpoint);
+        try {
+            probe.await(5, TimeUnit.MINUTES);
+        } catch (OpenShiftTestException e) {
+            throw unchecked(e);
+        }
+        lastRouteProbe = probe;
+    }
+
+    /**
+     * Returns the time it took to get the first HTTP 200 from the application route during the last
+     * {@link #awaitAppRoute()}, in nanoseconds, or {@code -1} if the route wasn't awaited yet.
+     */
+    public long getTimeToFirstRouteSuccessNanos() {
+        return lastRouteProbe != null ? lastRouteProbe.timeToFirstSuccessNanos() : -1;
+    }
+
+    /**
+     * Returns the time between the application endpoints becoming ready and the first HTTP 200 from
+     * the application route during the last {@link #awaitAppRoute()}, in nanoseconds, or {@code -1}
+     * if the route wasn't awaited yet.
+     */
+    public long getRouteDelayAfterEndpointsReadyNanos() {
+        return lastRouteProbe != null ? lastRouteProbe.timeFromEndpointsReadyNanos() : -1;
     }
 
     public void awaitReadiness(List<HasMetadata> resources) {
-        resources.stream()
+        List<HasMetadata> applicableResources = resources.stream()
                 .filter(it -> ReadinessUtil.isReadinessApplicable(it.getClass()))
-                .forEach(it -> {
-                    System.out.println(ansi().a("waiting for ").a(readableKind(it.getKind())).a(" ")
-                            .fgYellow().a(it.getMetadata().getName()).reset().a(" to become ready"));
-                    await().pollInterval(1, TimeUnit.SECONDS)
-                           .atMost(5, TimeUnit.MINUTES)
-                           .until(() -> {
-                        HasMetadata current = oc.resource(it).fromServer().get();
-                        if (current == null) {
-                            ResourceHandler<HasMetadata, ?> handler = Handlers.get(it.getKind(), it.getApiVersion());
-                            if (handler != null && !handler.getApiVersion().equals(it.getApiVersion())) {
-                                throw new OpenShiftTestException("Couldn't load " + readableKind(it.getKind()) + " '"
-                                        + it.getMetadata().getName() + "' from API server, most likely because"
-                                        + " the 'apiVersion' doesn't match: has '" + it.getApiVersion() + "', but"
-                                        + " should have '" + handler.getApiVersion() + "'");
-                            }
-                            throw new OpenShiftTestException("Couldn't load " + readableKind(it.getKind()) + " '"
-                                    + it.getMetadata().getName() + "' from API server");
-                        }
-                        return ReadinessUtil.isReady(current);
-                    });
-                });
+                .collect(Collectors.toList());
+        if (applicableResources.isEmpty()) {
+            return;
+        }
+
+        applicableResources.forEach(it -> {
+            System.out.println(ansi().a("waiting for ").a(readableKind(it.getKind())).a(" ")
+                    .fgYellow().a(it.getMetadata().getName()).reset().a(" to become ready"));
+        });
+        try (ReadinessTracker tracker = new ReadinessTracker(oc)) {
+            tracker.awaitAllReady(applicableResources, 5, TimeUnit.MINUTES);
+        } catch (OpenShiftTestException e) {
+            throw unchecked(e);
+        }
+    }
+
+    // timeouts are reported as Awaitility's ConditionTimeoutException, other failures are wrapped,
+    // so that the await methods don't declare checked exceptions
+    private static RuntimeException unchecked(OpenShiftTestException e) {
+        return new IllegalStateException(e.getMessage(), e);
     }
 
     // DeploymentConfig -> deployment config
-    private static String readableKind(String kind) {
+    static String readableKind(String kind) {
         StringBuilder result = new StringBuilder(kind.length());
         boolean shouldAppendSpaceAfterUpperCase = false;
         for (int i = 0; i < kind.length(); i++) {
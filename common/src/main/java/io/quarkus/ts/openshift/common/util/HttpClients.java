@@ -0,0 +1,46 @@
+package io.quarkus.ts.openshift.common.util;
+
+import okhttp3.OkHttpClient;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+
+final class HttpClients {
+    private HttpClients() {
+    }
+
+    /**
+     * Returns a builder of an HTTP client that trusts all certificates and host names. Routes are typically
+     * exposed with self-signed certificates, see {@code RestAssured.useRelaxedHTTPSValidation()}.
+     */
+    static OkHttpClient.Builder relaxedHttps() {
+        X509TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]{trustAll}, null);
+            return new OkHttpClient.Builder()
+                    .sslSocketFactory(sslContext.getSocketFactory(), trustAll)
+                    .hostnameVerifier((hostname, session) -> true);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
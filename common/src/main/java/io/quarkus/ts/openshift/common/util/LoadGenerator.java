@@ -0,0 +1,214 @@
+package io.quarkus.ts.openshift.common.util;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Generates HTTP load against the application. Can be injected into a test using {@code @TestResource}, in which case
+ * all paths are relative to the application route (including the HTTP root), or created directly with an arbitrary
+ * base URI. Two modes are supported:
+ * <ul>
+ *     <li>{@linkplain #closedLoop(String, int, long, TimeUnit) closed loop}: given number of users, each of them sends
+ *     a request only after it received a response to the previous one</li>
+ *     <li>{@linkplain #openLoop(String, int, long, TimeUnit) open loop}: requests are sent at a constant rate,
+ *     regardless of how fast the application responds</li>
+ * </ul>
+ * Requests are sent asynchronously, using a single connection-pooled HTTP client that trusts all certificates.
+ * Latencies of successful requests are recorded in a histogram. In the open loop mode, latency is measured from
+ * the moment the request <em>should have been</em> sent, so that a stalled application isn't hidden by a stalled
+ * load generator (so called coordinated omission).
+ * <p>
+ * Only responses with a 2xx status code are considered successful. Other responses are counted as HTTP errors,
+ * and failures to get a response at all (connection refused, timeout etc.) are counted as I/O errors.
+ */
+public final class LoadGenerator implements ExtensionContext.Store.CloseableResource {
+    private static final int MAX_CONCURRENCY = 1024;
+    private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String baseUri;
+    private final Consumer<LoadResult> listener;
+    private final OkHttpClient client;
+
+    public LoadGenerator(String baseUri) {
+        this(baseUri, ignored -> {
+        });
+    }
+
+    /**
+     * @param listener notified of the result of each load run, e.g. by the test framework to correlate load
+     * with resource usage of the application
+     */
+    public LoadGenerator(String baseUri, Consumer<LoadResult> listener) {
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        this.listener = listener;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_CONCURRENCY);
+        dispatcher.setMaxRequestsPerHost(MAX_CONCURRENCY);
+        this.client = HttpClients.relaxedHttps()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(MAX_CONCURRENCY, 1, TimeUnit.MINUTES))
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .callTimeout(30, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+
+    /**
+     * Sends {@code GET} requests to given {@code path} from given number of concurrent {@code users} for given
+     * {@code duration}. Each user sends its next request right after it received a response to the previous one.
+     * Requests that are in flight when the duration elapses are awaited and included in the result.
+     */
+    public LoadResult closedLoop(String path, int users, long duration, TimeUnit unit) {
+        if (users <= 0) {
+            throw new IllegalArgumentException("Number of users must be positive: " + users);
+        }
+
+        Run run = new Run(path, users + (users == 1 ? " user" : " users"));
+        long deadline = run.start + unit.toNanos(duration);
+        for (int i = 0; i < users; i++) {
+            Runnable user = new Runnable() {
+                @Override
+                public void run() {
+                    long now = System.nanoTime();
+                    if (now < deadline) {
+                        run.send(now, this);
+                    }
+                }
+            };
+            user.run();
+        }
+        return run.await();
+    }
+
+    /**
+     * Sends {@code GET} requests to given {@code path} at a constant rate of {@code requestsPerSecond}
+     * for given {@code duration}. Requests are sent regardless of whether responses to previous requests
+     * were already received. Requests that are in flight when the duration elapses are awaited and included
+     * in the result.
+     */
+    public LoadResult openLoop(String path, int requestsPerSecond, long duration, TimeUnit unit) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Request rate must be positive: " + requestsPerSecond);
+        }
+
+        Run run = new Run(path, requestsPerSecond + " req/s");
+        long end = run.start + unit.toNanos(duration);
+        for (long i = 0; ; i++) {
+            long intendedStart = run.start + i * TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+            if (intendedStart >= end) {
+                break;
+            }
+            long delay;
+            while ((delay = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            run.send(intendedStart, null);
+        }
+        return run.await();
+    }
+
+    @Override
+    public void close() {
+        client.dispatcher().cancelAll();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    private final class Run {
+        private final String description;
+        private final Request request;
+        private final long startMillis = System.currentTimeMillis();
+        private final long start = System.nanoTime();
+
+        private final Recorder latencies = new Recorder(HIGHEST_TRACKABLE_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        private final AtomicLong successes = new AtomicLong();
+        private final AtomicLong httpErrors = new AtomicLong();
+        private final AtomicLong ioErrors = new AtomicLong();
+        private final AtomicLong inFlight = new AtomicLong();
+
+        Run(String path, String mode) {
+            String url = baseUri + (path.startsWith("/") ? path : "/" + path);
+            this.description = "GET " + url + ", " + mode;
+            this.request = new Request.Builder().url(url).get().build();
+        }
+
+        void send(long intendedStart, Runnable next) {
+            inFlight.incrementAndGet();
+            client.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (ResponseBody body = response.body()) {
+                        if (body != null) {
+                            body.bytes();
+                        }
+                        if (response.isSuccessful()) {
+                            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                            latencies.recordValue(Math.min(micros, HIGHEST_TRACKABLE_LATENCY_MICROS));
+                            successes.incrementAndGet();
+                        } else {
+                            httpErrors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        ioErrors.incrementAndGet();
+                    }
+                    finished(next);
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    ioErrors.incrementAndGet();
+                    finished(next);
+                }
+            });
+        }
+
+        // the next request is sent before this one is marked finished, so that `inFlight` doesn't drop to 0 prematurely
+        private void finished(Runnable next) {
+            if (next != null) {
+                next.run();
+            }
+            if (inFlight.decrementAndGet() == 0) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        LoadResult await() {
+            synchronized (this) {
+                while (inFlight.get() > 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for " + description, e);
+                    }
+                }
+            }
+
+            LoadResult result = new LoadResult(successes.get(), httpErrors.get(), ioErrors.get(), startMillis,
+                    System.nanoTime() - start, latencies.getIntervalHistogram());
+            System.out.println(ansi().a("load ").fgYellow().a(description).reset().a(": ").a(result.summary()));
+            listener.accept(result);
+            return result;
+        }
+    }
+}
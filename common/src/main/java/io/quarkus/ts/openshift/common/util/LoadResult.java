@@ -0,0 +1,105 @@
+package io.quarkus.ts.openshift.common.util;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of a {@link LoadGenerator} run. Latencies are only recorded for successful requests.
+ */
+public final class LoadResult {
+    private final long successfulRequests;
+    private final long httpErrors;
+    private final long ioErrors;
+    private final long startMillis;
+    private final long durationNanos;
+    private final Histogram latenciesMicros;
+
+    LoadResult(long successfulRequests, long httpErrors, long ioErrors, long startMillis, long durationNanos,
+            Histogram latenciesMicros) {
+        this.successfulRequests = successfulRequests;
+        this.httpErrors = httpErrors;
+        this.ioErrors = ioErrors;
+        this.startMillis = startMillis;
+        this.durationNanos = durationNanos;
+        this.latenciesMicros = latenciesMicros;
+    }
+
+    public long getRequests() {
+        return successfulRequests + getErrors();
+    }
+
+    public long getSuccessfulRequests() {
+        return successfulRequests;
+    }
+
+    /**
+     * Number of responses with a status code other than 2xx.
+     */
+    public long getHttpErrors() {
+        return httpErrors;
+    }
+
+    /**
+     * Number of requests that didn't get a response at all.
+     */
+    public long getIoErrors() {
+        return ioErrors;
+    }
+
+    public long getErrors() {
+        return httpErrors + ioErrors;
+    }
+
+    /**
+     * Wall-clock time when the load started, in milliseconds since the epoch.
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Successful requests per second.
+     */
+    public double getThroughput() {
+        return durationNanos == 0 ? 0 : successfulRequests * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos;
+    }
+
+    /**
+     * @param percentile between 0 and 100, e.g. {@code 99.9}
+     */
+    public double getLatencyMillis(double percentile) {
+        return latenciesMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMeanLatencyMillis() {
+        return latenciesMicros.getMean() / 1000.0;
+    }
+
+    public double getMaxLatencyMillis() {
+        return latenciesMicros.getMaxValue() / 1000.0;
+    }
+
+    /**
+     * Returns a copy of the latency histogram. Values are in microseconds.
+     */
+    public Histogram getLatencyHistogram() {
+        return latenciesMicros.copy();
+    }
+
+    public String summary() {
+        return String.format("%d requests (%d HTTP errors, %d I/O errors) in %.1f s, %.1f req/s, "
+                        + "latency p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms",
+                getRequests(), httpErrors, ioErrors, durationNanos / 1_000_000_000.0, getThroughput(),
+                getLatencyMillis(50), getLatencyMillis(90), getLatencyMillis(99), getMaxLatencyMillis());
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
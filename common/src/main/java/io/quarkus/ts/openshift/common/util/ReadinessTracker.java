@@ -0,0 +1,272 @@
+package io.quarkus.ts.openshift.common.util;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.Handlers;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.ResourceHandler;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.OpenShiftTestException;
+import org.awaitility.core.ConditionTimeoutException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Waits for readiness of OpenShift resources using watches instead of polling.
+ * For common resource kinds, there's a single watch per kind in the namespace, shared by all tracked
+ * resources of that kind; other resources are watched individually. Readiness is checked on every event,
+ * so a resource is known to be ready as soon as the API server reports it. Multiple resources
+ * can be awaited at the same time, see {@link #awaitAllReady(List, long, TimeUnit)}.
+ * <p>
+ * Watches can miss events (e.g. when the connection is reestablished), so the current state
+ * of resources that aren't ready yet is also fetched from the API server every once in a while.
+ */
+final class ReadinessTracker implements AutoCloseable {
+    private static final long RESYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final OpenShiftClient oc;
+    private final String namespace;
+
+    // key is either kind (for namespace-wide watches) or kind/name (for single resource watches)
+    private final Map<String, Watch> watches = new HashMap<>();
+    // key is kind/name
+    private final Map<String, CompletableFuture<HasMetadata>> tracked = new ConcurrentHashMap<>();
+
+    private boolean closed;
+
+    ReadinessTracker(OpenShiftClient oc) {
+        this.oc = oc;
+        this.namespace = oc.getNamespace();
+    }
+
+    /**
+     * Starts tracking readiness of given {@code resource}. The returned future is completed with the current state
+     * of the resource once it becomes ready, or exceptionally if the resource can't be found on the API server.
+     */
+    CompletableFuture<HasMetadata> track(HasMetadata resource) {
+        CompletableFuture<HasMetadata> result = tracked.computeIfAbsent(key(resource), ignored -> new CompletableFuture<>());
+        subscribe(resource);
+        // the resource could have become ready before the watch was established
+        refresh(resource, result);
+        return result;
+    }
+
+    /**
+     * Waits until all given {@code resources} are ready. All resources are tracked at the same time
+     * and share a single deadline; time to readiness of each resource is printed as soon as it becomes ready.
+     * Fails as soon as any resource can't be tracked. When the deadline expires, throws
+     * {@link ConditionTimeoutException} listing all resources that aren't ready yet.
+     */
+    void awaitAllReady(List<HasMetadata> resources, long timeout, TimeUnit unit) throws OpenShiftTestException {
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+
+        Map<HasMetadata, CompletableFuture<HasMetadata>> futures = new LinkedHashMap<>();
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        for (HasMetadata resource : resources) {
+            CompletableFuture<HasMetadata> future = track(resource);
+            future.whenComplete((ready, error) -> {
+                if (error != null) {
+                    failure.completeExceptionally(error);
+                } else {
+                    System.out.println(ansi().a(AwaitUtil.readableKind(resource.getKind())).a(" ")
+                            .fgYellow().a(resource.getMetadata().getName()).reset().a(" became ready in ")
+                            .fgYellow().a(formatDuration(System.nanoTime() - start)).reset());
+                }
+            });
+            futures.put(resource, future);
+        }
+        CompletableFuture<Object> allReadyOrFailure = CompletableFuture.anyOf(
+                CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])), failure);
+
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new ConditionTimeoutException("Resources didn't become ready in " + timeout + " "
+                        + unit.toString().toLowerCase() + ": " + describeNotReady(futures));
+            }
+
+            try {
+                allReadyOrFailure.get(Math.min(remaining, RESYNC_INTERVAL_NANOS), TimeUnit.NANOSECONDS);
+                return;
+            } catch (TimeoutException e) {
+                futures.forEach(this::refresh);
+            } catch (ExecutionException e) {
+                throw new OpenShiftTestException(e.getCause().getMessage() + " (resources not ready: "
+                        + describeNotReady(futures) + ")", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OpenShiftTestException("Interrupted while waiting for resources to become ready: "
+                        + describeNotReady(futures), e);
+            }
+        }
+    }
+
+    private static String describeNotReady(Map<HasMetadata, CompletableFuture<HasMetadata>> futures) {
+        return futures.entrySet()
+                .stream()
+                .filter(it -> !it.getValue().isDone() || it.getValue().isCompletedExceptionally())
+                .map(it -> describe(it.getKey()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String describe(HasMetadata resource) {
+        return AwaitUtil.readableKind(resource.getKind()) + " '" + resource.getMetadata().getName() + "'";
+    }
+
+    private static String formatDuration(long nanos) {
+        return String.format("%.1f s", nanos / 1_000_000_000.0);
+    }
+
+    private void refresh(HasMetadata resource, CompletableFuture<HasMetadata> future) {
+        if (future.isDone()) {
+            return;
+        }
+
+        HasMetadata current = oc.resource(resource).fromServer().get();
+        if (current == null) {
+            ResourceHandler<HasMetadata, ?> handler = Handlers.get(resource.getKind(), resource.getApiVersion());
+            if (handler != null && !handler.getApiVersion().equals(resource.getApiVersion())) {
+                future.completeExceptionally(new OpenShiftTestException("Couldn't load " + describe(resource)
+                        + " from API server, most likely because the 'apiVersion' doesn't match: has '"
+                        + resource.getApiVersion() + "', but should have '" + handler.getApiVersion() + "'"));
+                return;
+            }
+            future.completeExceptionally(new OpenShiftTestException("Couldn't load " + describe(resource)
+                    + " from API server"));
+            return;
+        }
+
+        if (isReady(current)) {
+            future.complete(current);
+        }
+    }
+
+    private void onEvent(String kind, Watcher.Action action, HasMetadata resource) {
+        if (action == Watcher.Action.DELETED || action == Watcher.Action.ERROR) {
+            return;
+        }
+
+        CompletableFuture<HasMetadata> future = tracked.get(kind + "/" + resource.getMetadata().getName());
+        if (future != null && !future.isDone() && isReady(resource)) {
+            future.complete(resource);
+        }
+    }
+
+    private static boolean isReady(HasMetadata resource) {
+        try {
+            return ReadinessUtil.isReady(resource);
+        } catch (IllegalStateException e) {
+            // some conditions can be missing for a while, e.g. the 'Ready' condition of a pod
+            return false;
+        }
+    }
+
+    private synchronized void subscribe(HasMetadata resource) {
+        String kind = resource.getKind();
+        String watchKey = isWatchedPerNamespace(kind) ? kind : key(resource);
+        if (closed || watches.containsKey(watchKey)) {
+            return;
+        }
+
+        Watch watch;
+        switch (kind) {
+            case "Pod":
+                watch = oc.pods().inNamespace(namespace).watch(new ReadinessWatcher<>(watchKey, resource));
+                break;
+            case "ReplicationController":
+                watch = oc.replicationControllers().inNamespace(namespace).watch(new ReadinessWatcher<>(watchKey, resource));
+                break;
+            case "Endpoints":
+                watch = oc.endpoints().inNamespace(namespace).watch(new ReadinessWatcher<>(watchKey, resource));
+                break;
+            case "Deployment":
+                watch = oc.apps().deployments().inNamespace(namespace).watch(new ReadinessWatcher<>(watchKey, resource));
+                break;
+            case "ReplicaSet":
+                watch = oc.apps().replicaSets().inNamespace(namespace).watch(new ReadinessWatcher<>(watchKey, resource));
+                break;
+            case "StatefulSet":
+                watch = oc.apps().statefulSets().inNamespace(namespace).watch(new ReadinessWatcher<>(watchKey, resource));
+                break;
+            case "DeploymentConfig":
+                watch = oc.deploymentConfigs().inNamespace(namespace).watch(new ReadinessWatcher<>(watchKey, resource));
+                break;
+            default:
+                watch = oc.resource(resource).watch(new ReadinessWatcher<>(watchKey, resource));
+                break;
+        }
+        watches.put(watchKey, watch);
+    }
+
+    private synchronized void resubscribe(String watchKey, HasMetadata resource) {
+        watches.remove(watchKey);
+        subscribe(resource);
+    }
+
+    private static boolean isWatchedPerNamespace(String kind) {
+        switch (kind) {
+            case "Pod":
+            case "ReplicationController":
+            case "Endpoints":
+            case "Deployment":
+            case "ReplicaSet":
+            case "StatefulSet":
+            case "DeploymentConfig":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String key(HasMetadata resource) {
+        return resource.getKind() + "/" + resource.getMetadata().getName();
+    }
+
+    @Override
+    public void close() {
+        List<Watch> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(watches.values());
+            watches.clear();
+        }
+        toClose.forEach(Watch::close);
+    }
+
+    private final class ReadinessWatcher<T extends HasMetadata> implements Watcher<T> {
+        private final String watchKey;
+        private final HasMetadata resource;
+
+        ReadinessWatcher(String watchKey, HasMetadata resource) {
+            this.watchKey = watchKey;
+            this.resource = resource;
+        }
+
+        @Override
+        public void eventReceived(Action action, T item) {
+            onEvent(resource.getKind(), action, item);
+        }
+
+        @Override
+        public void onClose(KubernetesClientException cause) {
+            if (cause != null) {
+                // the watch was closed unexpectedly, e.g. because the resource version is too old
+                resubscribe(watchKey, resource);
+            }
+        }
+    }
+}
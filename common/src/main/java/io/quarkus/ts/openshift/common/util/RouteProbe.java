@@ -0,0 +1,132 @@
+package io.quarkus.ts.openshift.common.util;
+
+import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.OpenShiftTestException;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.awaitility.core.ConditionTimeoutException;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Waits until a route starts responding with HTTP 200. First, the {@code Endpoints} of the service behind the route
+ * are awaited (that is, at least one pod is ready), using watches. Only then is the route probed via HTTP, with
+ * a single keep-alive HTTP client that is shared by all probes, and with exponential backoff between attempts.
+ * <p>
+ * Time to first HTTP 200 is printed, both from the start of the probe and from the moment the endpoints
+ * became ready, and it's also available from {@link #timeToFirstSuccessNanos()} and
+ * {@link #timeFromEndpointsReadyNanos()}. The endpoints and the route share one timeout.
+ */
+final class RouteProbe {
+    private static final long INITIAL_BACKOFF_MILLIS = 50;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final double BACKOFF_MULTIPLIER = 1.5;
+
+    // routes are typically exposed with self-signed certificates, see `RestAssured.useRelaxedHTTPSValidation()`
+    private static final OkHttpClient HTTP_CLIENT = createHttpClient();
+
+    private final OpenShiftClient oc;
+    private final String serviceName;
+    private final String url;
+
+    private long timeToFirstSuccessNanos = -1;
+    private long timeFromEndpointsReadyNanos = -1;
+    private int attempts;
+
+    RouteProbe(OpenShiftClient oc, String serviceName, String url) {
+        this.oc = oc;
+        this.serviceName = serviceName;
+        this.url = url;
+    }
+
+    void await(long timeout, TimeUnit unit) throws OpenShiftTestException {
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+
+        awaitEndpoints(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        long endpointsReady = System.nanoTime();
+
+        String lastResult = "no request made";
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            attempts++;
+            Request request = new Request.Builder().url(url).get().build();
+            try (Response response = HTTP_CLIENT.newCall(request).execute()) {
+                if (response.code() == 200) {
+                    break;
+                }
+                lastResult = "HTTP " + response.code();
+            } catch (IOException e) {
+                lastResult = e.toString();
+            }
+
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                throw new ConditionTimeoutException("Route " + url + " didn't respond with HTTP 200 in "
+                        + timeout + " " + unit.toString().toLowerCase() + " (" + attempts + " attempts, last result: "
+                        + lastResult + ")");
+            }
+
+            try {
+                Thread.sleep(Math.min(backoffMillis, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OpenShiftTestException("Interrupted while waiting for route " + url, e);
+            }
+            backoffMillis = Math.min((long) (backoffMillis * BACKOFF_MULTIPLIER), MAX_BACKOFF_MILLIS);
+        }
+
+        long end = System.nanoTime();
+        timeToFirstSuccessNanos = end - start;
+        timeFromEndpointsReadyNanos = end - endpointsReady;
+        System.out.println(ansi().a("route ").fgYellow().a(url).reset().a(" responded with HTTP 200 in ")
+                .fgYellow().a(formatDuration(timeToFirstSuccessNanos)).reset()
+                .a(" (").fgYellow().a(formatDuration(timeFromEndpointsReadyNanos)).reset()
+                .a(" after endpoints became ready, ").a(attempts).a(attempts == 1 ? " attempt)" : " attempts)"));
+    }
+
+    private void awaitEndpoints(long timeout, TimeUnit unit) throws OpenShiftTestException {
+        Endpoints endpoints = oc.endpoints().withName(serviceName).get();
+        if (endpoints == null) {
+            // e.g. Knative services don't have endpoints named after the application
+            System.out.println(ansi().a("no endpoints ").fgYellow().a(serviceName).reset()
+                    .a(", only probing the route"));
+            return;
+        }
+
+        try (ReadinessTracker tracker = new ReadinessTracker(oc)) {
+            tracker.awaitAllReady(Collections.<HasMetadata>singletonList(endpoints), timeout, unit);
+        }
+    }
+
+    long timeToFirstSuccessNanos() {
+        return timeToFirstSuccessNanos;
+    }
+
+    long timeFromEndpointsReadyNanos() {
+        return timeFromEndpointsReadyNanos;
+    }
+
+    int attempts() {
+        return attempts;
+    }
+
+    private static String formatDuration(long nanos) {
+        return String.format("%.1f s", nanos / 1_000_000_000.0);
+    }
+
+    private static OkHttpClient createHttpClient() {
+        return HttpClients.relaxedHttps()
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .readTimeout(10, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+}
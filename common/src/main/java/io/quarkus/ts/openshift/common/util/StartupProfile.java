@@ -0,0 +1,170 @@
+package io.quarkus.ts.openshift.common.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@link StartupProfiler#profile(String, int)}: a {@linkplain Sample sample} for each started pod,
+ * and {@linkplain Statistics distribution statistics} of each {@linkplain Metric metric} over all samples.
+ */
+public final class StartupProfile {
+    public enum Metric {
+        /**
+         * From pod creation to container start, that is, scheduling, pulling the image and creating the container.
+         */
+        CONTAINER_START("container start"),
+        /**
+         * From pod creation to the {@code Quarkus ... started in} log line.
+         */
+        QUARKUS_STARTED("Quarkus started"),
+        /**
+         * Startup time reported by Quarkus itself in the {@code Quarkus ... started in} log line.
+         */
+        QUARKUS_REPORTED("Quarkus reported"),
+        /**
+         * From pod creation to the pod becoming ready.
+         */
+        READY("ready"),
+        /**
+         * From the scale up request to the first HTTP 200 from the application route.
+         */
+        FIRST_ROUTE_SUCCESS("first route success"),
+        ;
+
+        private final String description;
+
+        Metric(String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * Startup of a single pod. Times are in milliseconds. Timestamps from the cluster have a resolution of 1 second,
+     * except of log timestamps.
+     */
+    public static final class Sample {
+        private final String podName;
+        private final Map<Metric, Long> millis;
+
+        Sample(String podName, Map<Metric, Long> millis) {
+            this.podName = podName;
+            this.millis = millis;
+        }
+
+        public String getPodName() {
+            return podName;
+        }
+
+        /**
+         * Returns given {@code metric} in milliseconds, or {@code -1} if it couldn't be determined.
+         */
+        public long getMillis(Metric metric) {
+            return millis.getOrDefault(metric, -1L);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(podName).append(":");
+            for (Metric metric : Metric.values()) {
+                result.append(" ").append(metric.description).append(" ").append(formatMillis(getMillis(metric))).append(",");
+            }
+            result.setLength(result.length() - 1);
+            return result.toString();
+        }
+    }
+
+    /**
+     * Distribution statistics of a single metric. Percentiles use the nearest-rank method.
+     * Samples where the metric couldn't be determined are excluded.
+     */
+    public static final class Statistics {
+        private final List<Long> sorted;
+
+        Statistics(List<Long> values) {
+            this.sorted = new ArrayList<>(values);
+            Collections.sort(this.sorted);
+        }
+
+        public int getCount() {
+            return sorted.size();
+        }
+
+        public long getMin() {
+            return sorted.isEmpty() ? -1 : sorted.get(0);
+        }
+
+        public long getMax() {
+            return sorted.isEmpty() ? -1 : sorted.get(sorted.size() - 1);
+        }
+
+        public double getMean() {
+            return sorted.stream().mapToLong(Long::longValue).average().orElse(-1);
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         */
+        public long getPercentile(double percentile) {
+            if (sorted.isEmpty()) {
+                return -1;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+            return sorted.get(Math.max(0, Math.min(rank, sorted.size()) - 1));
+        }
+
+        public long getMedian() {
+            return getPercentile(50);
+        }
+    }
+
+    private final String deploymentConfigName;
+    private final List<Sample> samples;
+
+    StartupProfile(String deploymentConfigName, List<Sample> samples) {
+        this.deploymentConfigName = deploymentConfigName;
+        this.samples = Collections.unmodifiableList(new ArrayList<>(samples));
+    }
+
+    public List<Sample> getSamples() {
+        return samples;
+    }
+
+    public Statistics getStatistics(Metric metric) {
+        List<Long> values = new ArrayList<>();
+        for (Sample sample : samples) {
+            long value = sample.getMillis(metric);
+            if (value >= 0) {
+                values.add(value);
+            }
+        }
+        return new Statistics(values);
+    }
+
+    public String summary() {
+        Map<Metric, Statistics> statistics = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            statistics.put(metric, getStatistics(metric));
+        }
+
+        StringBuilder result = new StringBuilder();
+        result.append("startup of ").append(deploymentConfigName).append(", ").append(samples.size())
+                .append(samples.size() == 1 ? " pod" : " pods").append("\n");
+        result.append(String.format("  %-20s %5s %9s %9s %9s %9s %9s%n", "", "count", "min", "median", "p90", "max", "mean"));
+        statistics.forEach((metric, stats) -> result.append(String.format("  %-20s %5d %9s %9s %9s %9s %9s%n",
+                metric.description, stats.getCount(), formatMillis(stats.getMin()), formatMillis(stats.getMedian()),
+                formatMillis(stats.getPercentile(90)), formatMillis(stats.getMax()), formatMillis(Math.round(stats.getMean())))));
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+
+    private static String formatMillis(long millis) {
+        return millis < 0 ? "n/a" : String.format("%.3f s", millis / 1000.0);
+    }
+}
@@ -0,0 +1,160 @@
+package io.quarkus.ts.openshift.common.util;
+
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.OpenShiftTestException;
+import io.quarkus.ts.openshift.common.util.StartupProfile.Metric;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+/**
+ * Measures startup of the application by repeatedly scaling a deployment config to 0 and back to 1 replica.
+ * For each started pod, it records the time to container start, to the {@code Quarkus ... started in} log line,
+ * to pod readiness and to the first HTTP 200 from the application route, see {@link StartupProfile.Metric}.
+ * <p>
+ * Times are computed from timestamps of the same clock where possible: container start, the log line and readiness
+ * are relative to pod creation (all from the cluster), while the first route success is measured locally
+ * from the scale up request.
+ * <p>
+ * Can be injected using {@code @TestResource}.
+ */
+public final class StartupProfiler {
+    private static final Pattern QUARKUS_STARTED = Pattern.compile("\\bQuarkus\\b.* started in ([0-9]+(?:\\.[0-9]+)?)s");
+
+    private final OpenShiftClient oc;
+    private final OpenShiftUtil openShiftUtil;
+    private final String serviceName;
+    private final String routeUrl;
+
+    /**
+     * @param serviceName name of the service behind the application route
+     * @param routeUrl URL that is probed until it responds with HTTP 200
+     */
+    public StartupProfiler(OpenShiftClient oc, OpenShiftUtil openShiftUtil, String serviceName, String routeUrl) {
+        this.oc = oc;
+        this.openShiftUtil = openShiftUtil;
+        this.serviceName = serviceName;
+        this.routeUrl = routeUrl;
+    }
+
+    /**
+     * Scales given deployment config to 0 and back to 1 replica {@code cycles} times and measures each startup.
+     * The deployment config is left with 1 ready replica.
+     */
+    public StartupProfile profile(String deploymentConfigName, int cycles) throws OpenShiftTestException {
+        List<StartupProfile.Sample> samples = new ArrayList<>();
+        for (int i = 1; i <= cycles; i++) {
+            System.out.println(ansi().a("startup profile of ").fgYellow().a(deploymentConfigName).reset()
+                    .a(", cycle ").a(i).a("/").a(cycles));
+
+            openShiftUtil.scale(deploymentConfigName, 0);
+
+            long start = System.nanoTime();
+            oc.deploymentConfigs().withName(deploymentConfigName).scale(1);
+            new RouteProbe(oc, serviceName, routeUrl).await(5, TimeUnit.MINUTES);
+            long firstRouteSuccessMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            List<Pod> pods = openShiftUtil.listPodsForDeploymentConfig(deploymentConfigName)
+                    .stream()
+                    .filter(pod -> pod.getMetadata().getDeletionTimestamp() == null)
+                    .collect(Collectors.toList());
+            if (pods.size() != 1) {
+                throw new OpenShiftTestException("Expected 1 pod of " + deploymentConfigName + " after scaling up, found "
+                        + pods.size());
+            }
+            Pod pod = pods.get(0);
+
+            StartupProfile.Sample sample = sample(pod, mainContainerLog(pod), firstRouteSuccessMillis);
+            System.out.println(ansi().a("  ").a(sample));
+            samples.add(sample);
+        }
+
+        StartupProfile profile = new StartupProfile(deploymentConfigName, samples);
+        System.out.print(profile.summary());
+        return profile;
+    }
+
+    private String mainContainerLog(Pod pod) {
+        String container = pod.getSpec().getContainers().get(0).getName();
+        return oc.pods().withName(pod.getMetadata().getName()).inContainer(container).usingTimestamps().getLog();
+    }
+
+    /**
+     * @param log log of the main container, with a RFC 3339 timestamp at the beginning of each line
+     */
+    static StartupProfile.Sample sample(Pod pod, String log, long firstRouteSuccessMillis) {
+        Map<Metric, Long> millis = new EnumMap<>(Metric.class);
+        Instant created = parseTimestamp(pod.getMetadata().getCreationTimestamp());
+
+        String container = pod.getSpec().getContainers().get(0).getName();
+        for (ContainerStatus status : pod.getStatus().getContainerStatuses()) {
+            if (container.equals(status.getName()) && status.getState() != null && status.getState().getRunning() != null) {
+                putBetween(millis, Metric.CONTAINER_START, created, parseTimestamp(status.getState().getRunning().getStartedAt()));
+            }
+        }
+
+        for (PodCondition condition : pod.getStatus().getConditions()) {
+            if ("Ready".equals(condition.getType()) && "True".equals(condition.getStatus())) {
+                putBetween(millis, Metric.READY, created, parseTimestamp(condition.getLastTransitionTime()));
+            }
+        }
+
+        if (log != null) {
+            try (BufferedReader reader = new BufferedReader(new StringReader(log))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Matcher matcher = QUARKUS_STARTED.matcher(line);
+                    if (matcher.find()) {
+                        int separator = line.indexOf(' ');
+                        if (separator > 0) {
+                            putBetween(millis, Metric.QUARKUS_STARTED, created, parseTimestamp(line.substring(0, separator)));
+                        }
+                        millis.put(Metric.QUARKUS_REPORTED, Math.round(Double.parseDouble(matcher.group(1)) * 1000));
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        millis.put(Metric.FIRST_ROUTE_SUCCESS, firstRouteSuccessMillis);
+
+        return new StartupProfile.Sample(pod.getMetadata().getName(), millis);
+    }
+
+    private static void putBetween(Map<Metric, Long> millis, Metric metric, Instant from, Instant to) {
+        if (from != null && to != null) {
+            millis.put(metric, Duration.between(from, to).toMillis());
+        }
+    }
+
+    private static Instant parseTimestamp(String timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class AsyncTeardownTest {
+    private static final String NAMESPACE = "test";
+
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+    private AsyncTeardown teardown;
+    private CountDownLatch blocker;
+
+    @BeforeEach
+    public void setUp() {
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+        teardown = new AsyncTeardown(sharedClient);
+        blocker = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        blocker.countDown();
+        teardown.close();
+        sharedClient.close();
+        mockCluster.close();
+    }
+
+    @Test
+    public void deployingUnrelatedResourcesDoesNotWait() throws Exception {
+        teardown.submit("deleting a", AsyncTeardown.keys(NAMESPACE, resources("a")), ignored -> blocker.await());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> teardown.awaitConflicting(AsyncTeardown.deploymentKeys(NAMESPACE, resources("b"))));
+    }
+
+    @Test
+    public void deployingSameResourceWaits() throws Exception {
+        teardown.submit("deleting a", AsyncTeardown.keys(NAMESPACE, resources("a")), ignored -> blocker.await());
+
+        assertBlockedUntilTeardownFinishes(AsyncTeardown.deploymentKeys(NAMESPACE, resources("a")));
+    }
+
+    @Test
+    public void deployingIntoDroppedNamespaceWaits() throws Exception {
+        teardown.submit("dropping namespace", Collections.singletonList(AsyncTeardown.key(NAMESPACE)),
+                ignored -> blocker.await());
+
+        assertBlockedUntilTeardownFinishes(AsyncTeardown.deploymentKeys(NAMESPACE, resources("b")));
+    }
+
+    private void assertBlockedUntilTeardownFinishes(List<String> keys) throws Exception {
+        CompletableFuture<Void> deployment = CompletableFuture.runAsync(() -> {
+            try {
+                teardown.awaitConflicting(keys);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> deployment.get(200, TimeUnit.MILLISECONDS));
+
+        blocker.countDown();
+        deployment.get(5, TimeUnit.SECONDS);
+    }
+
+    private static List<HasMetadata> resources(String name) {
+        return Collections.singletonList(new ConfigMapBuilder()
+                .withNewMetadata().withName(name).endMetadata()
+                .build());
+    }
+}
@@ -0,0 +1,135 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.openshift.api.model.BuildConfigBuilder;
+import io.fabric8.openshift.api.model.ImageStreamTagBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BuildCacheTest {
+    @TempDir
+    Path target;
+
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+    private OpenShiftClient oc;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+        oc = sharedClient.forTestClass("BuildCacheTest", null).client;
+
+        oc.buildConfigs().create(new BuildConfigBuilder()
+                .withNewMetadata().withName("app").endMetadata()
+                .withNewSpec()
+                .withNewOutput().withNewTo().withKind("ImageStreamTag").withName("app:1.0").endTo().endOutput()
+                .withNewStrategy().withNewSourceStrategy().withNewFrom().withKind("DockerImage")
+                .withName("registry.access.redhat.com/ubi8/openjdk-11").endFrom().endSourceStrategy().endStrategy()
+                .endSpec()
+                .build());
+
+        Files.createDirectories(target.resolve("lib"));
+        Files.write(target.resolve("app-runner.jar"), "application".getBytes(StandardCharsets.UTF_8));
+        Files.write(target.resolve("lib").resolve("dependency.jar"), "dependency".getBytes(StandardCharsets.UTF_8));
+        Files.write(target.resolve("not-included.txt"), "ignored".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        oc.buildConfigs().withName("app").delete();
+        oc.imageStreamTags().delete();
+        oc.imageStreams().delete();
+        sharedClient.close();
+        mockCluster.close();
+    }
+
+    @Test
+    public void missThenHit() throws Exception {
+        BuildCache cache = new BuildCache(oc, "app");
+        assertFalse(cache.tryReuse(Optional.empty(), target));
+        build("sha256:1111");
+        cache.store();
+
+        // image stream tag of the build output already contains the image
+        assertTrue(new BuildCache(oc, "app").tryReuse(Optional.empty(), target));
+
+        // changing files that aren't uploaded doesn't matter
+        Files.write(target.resolve("not-included.txt"), "changed".getBytes(StandardCharsets.UTF_8));
+        assertTrue(new BuildCache(oc, "app").tryReuse(Optional.empty(), target));
+    }
+
+    @Test
+    public void hitFromCacheImageStream() throws Exception {
+        BuildCache cache = new BuildCache(oc, "app");
+        assertFalse(cache.tryReuse(Optional.empty(), target));
+        build("sha256:1111");
+        cache.store();
+        String hash = oc.imageStreamTags().withName("app:1.0").get().getMetadata().getAnnotations()
+                .get(BuildCache.HASH_ANNOTATION);
+
+        // the output was overwritten by a build of another artifact, the cached image is tagged back
+        build("sha256:2222");
+        // the API server resolves the image of a tag, the mock cluster doesn't
+        oc.imageStreamTags().createOrReplace(new ImageStreamTagBuilder()
+                .withNewMetadata().withName("app-build-cache:" + hash).addToAnnotations(BuildCache.HASH_ANNOTATION, hash).endMetadata()
+                .withNewImage().withNewMetadata().withName("sha256:1111").endMetadata().endImage()
+                .build());
+
+        assertTrue(new BuildCache(oc, "app").tryReuse(Optional.empty(), target));
+        assertEquals(hash, oc.imageStreamTags().withName("app:1.0").get().getMetadata().getAnnotations()
+                .get(BuildCache.HASH_ANNOTATION));
+    }
+
+    @Test
+    public void hashMismatch() throws Exception {
+        BuildCache cache = new BuildCache(oc, "app");
+        assertFalse(cache.tryReuse(Optional.empty(), target));
+        build("sha256:1111");
+        cache.store();
+
+        Files.write(target.resolve("app-runner.jar"), "changed application".getBytes(StandardCharsets.UTF_8));
+        assertFalse(new BuildCache(oc, "app").tryReuse(Optional.empty(), target));
+    }
+
+    @Test
+    public void leastRecentlyStoredTagsPruned() throws Exception {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Files.write(target.resolve("app-runner.jar"), ("application " + i).getBytes(StandardCharsets.UTF_8));
+            BuildCache cache = new BuildCache(oc, "app", 2);
+            assertFalse(cache.tryReuse(Optional.empty(), target));
+            build("sha256:" + i);
+            cache.store();
+            hashes.add(oc.imageStreamTags().withName("app:1.0").get().getMetadata().getAnnotations()
+                    .get(BuildCache.HASH_ANNOTATION));
+        }
+
+        assertNull(oc.imageStreamTags().withName("app-build-cache:" + hashes.get(0)).get());
+        assertNotNull(oc.imageStreamTags().withName("app-build-cache:" + hashes.get(1)).get());
+        assertNotNull(oc.imageStreamTags().withName("app-build-cache:" + hashes.get(2)).get());
+    }
+
+    // what a binary build would do
+    private void build(String image) {
+        oc.imageStreamTags().createOrReplace(new ImageStreamTagBuilder()
+                .withNewMetadata().withName("app:1.0").endMetadata()
+                .withNewImage().withNewMetadata().withName(image).endMetadata().endImage()
+                .build());
+    }
+}
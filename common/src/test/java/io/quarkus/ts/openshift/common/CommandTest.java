@@ -0,0 +1,124 @@
+package io.quarkus.ts.openshift.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void exitCodeAndOutput() throws Exception {
+        CommandResult result = sh("echo out; echo err >&2; printf 'crlf\\r\\n'; exit 3").runAsync().get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, result.getExitCode());
+        assertFalse(result.isSuccessful());
+        assertEquals("out\nerr\ncrlf\r\n", result.getOutput());
+        assertFalse(result.isOutputTruncated());
+
+        assertThrows(RuntimeException.class, () -> sh("exit 1").runAndWait());
+    }
+
+    @Test
+    public void consoleOutputWithoutCarriageReturns() throws Exception {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(console, true, "UTF-8"));
+        try {
+            sh("printf 'first\\r\\nsecond'").runAndWait();
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String printed = console.toString("UTF-8");
+        assertTrue(printed.contains("> first" + System.lineSeparator()), printed);
+        assertTrue(printed.contains("> second" + System.lineSeparator()), printed);
+        assertFalse(printed.contains("\r"), printed);
+    }
+
+    @Test
+    public void onlyTailOfOutputIsCaptured() throws Exception {
+        Path file = directory.resolve("output.log");
+        CommandResult result = sh("head -c 100000 /dev/zero | tr '\\0' a; echo end")
+                .outputToFile(file.toFile())
+                .runAsync()
+                .get(10, TimeUnit.SECONDS);
+
+        assertTrue(result.isOutputTruncated());
+        assertEquals(64 * 1024, result.getOutput().length());
+        assertTrue(result.getOutput().endsWith("aaaend\n"));
+        // the file contains the whole output
+        assertEquals(100_000 + "end\n".length(), Files.size(file));
+    }
+
+    @Test
+    public void timeoutKillsCommand() throws Exception {
+        Path pidFile = directory.resolve("pid");
+        CompletableFuture<CommandResult> future = sh("echo $$ > " + pidFile + "; exec sleep 30")
+                .timeout(500, TimeUnit.MILLISECONDS)
+                .runAsync();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TimeoutException);
+
+        String pid = new String(Files.readAllBytes(pidFile), StandardCharsets.UTF_8).trim();
+        assertTrue(awaitNotRunning(pid), "process " + pid + " is still running");
+    }
+
+    @Test
+    public void runAllConcurrently() throws Exception {
+        long start = System.nanoTime();
+        List<CommandResult> results = Command.runAllAsync(Arrays.asList(
+                sh("sleep 1; echo 1"),
+                sh("sleep 1; echo 2"),
+                sh("sleep 1; echo 3")))
+                .get(10, TimeUnit.SECONDS);
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals((i + 1) + "\n", results.get(i).getOutput());
+        }
+        assertTrue(durationMillis < 2500, "commands didn't run concurrently, took " + durationMillis + " ms");
+    }
+
+    @Test
+    public void outputFileCantBeOpened() {
+        Command command = sh("echo out").outputToFile(directory.resolve("missing").resolve("output.log").toFile());
+
+        assertThrows(IOException.class, command::runAsync);
+        assertThrows(IOException.class, command::runAndWait);
+    }
+
+    private static Command sh(String script) {
+        return new Command("sh", "-c", script);
+    }
+
+    private static boolean awaitNotRunning(String pid) throws Exception {
+        for (int i = 0; i < 50; i++) {
+            if (!sh("kill -0 " + pid).runAsync().get(10, TimeUnit.SECONDS).isSuccessful()) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,132 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.ImageStream;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.common.ImageOverrides.ImageOverridesConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeploymentModelTest {
+    @TempDir
+    Path directory;
+
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+    private AsyncTeardown teardown;
+    private OpenShiftClient oc;
+    private DeploymentPipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+        teardown = new AsyncTeardown(sharedClient);
+        oc = sharedClient.forTestClass("DeploymentModelTest", null).client;
+        pipeline = new DeploymentPipeline(oc, teardown);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        teardown.close();
+        sharedClient.close();
+        mockCluster.close();
+    }
+
+    @Test
+    public void customizedAndOverriddenResourcesApplied() throws Exception {
+        DeploymentModel model = DeploymentModel.load(pipeline, writeResourcesYaml());
+        assertEquals(3, model.getResources().size());
+
+        // what a `@CustomizeApplicationDeployment` method would do
+        DeploymentConfig dc = model.getResource(DeploymentConfig.class, "app").get();
+        dc.getSpec().setReplicas(2);
+        dc.getSpec().getTemplate().getSpec().getContainers().get(0).getEnv().add(new EnvVar("GREETING", "hello", null));
+        model.getResources().add(new ConfigMapBuilder()
+                .withNewMetadata().withName("app-config").endMetadata()
+                .addToData("greeting", "hello")
+                .build());
+
+        model.applyImageOverrides(ImageOverridesConfig.parse(Stream.of("registry.example.com/*=mirror.local/*")), oc);
+        pipeline.apply(model.getResources());
+
+        DeploymentConfig deployed = oc.deploymentConfigs().withName("app").get();
+        assertEquals(2, deployed.getSpec().getReplicas().intValue());
+        Container container = deployed.getSpec().getTemplate().getSpec().getContainers().get(0);
+        assertEquals("mirror.local/ns/app:1.0", container.getImage());
+        assertEquals("hello", container.getEnv().get(0).getValue());
+
+        ImageStream imageStream = oc.imageStreams().withName("base").get();
+        assertEquals("mirror.local/ns/base:1.0", imageStream.getSpec().getTags().get(0).getFrom().getName());
+
+        assertNotNull(oc.configMaps().withName("app-config").get());
+    }
+
+    @Test
+    public void missingResourcesFile() {
+        OpenShiftTestException e = assertThrows(OpenShiftTestException.class,
+                () -> DeploymentModel.load(pipeline, directory.resolve("openshift.yml")));
+        assertTrue(e.getMessage().startsWith("Missing "), e.getMessage());
+    }
+
+    private Path writeResourcesYaml() throws IOException {
+        Path file = directory.resolve("openshift.yml");
+        Files.write(file, String.join("\n",
+                "---",
+                "apiVersion: image.openshift.io/v1",
+                "kind: ImageStream",
+                "metadata:",
+                "  name: base",
+                "spec:",
+                "  tags:",
+                "  - name: '1.0'",
+                "    from:",
+                "      kind: DockerImage",
+                "      name: registry.example.com/ns/base:1.0",
+                "---",
+                "apiVersion: apps.openshift.io/v1",
+                "kind: DeploymentConfig",
+                "metadata:",
+                "  name: app",
+                "spec:",
+                "  replicas: 1",
+                "  selector:",
+                "    app: app",
+                "  template:",
+                "    metadata:",
+                "      labels:",
+                "        app: app",
+                "    spec:",
+                "      containers:",
+                "      - name: app",
+                "        image: registry.example.com/ns/app:1.0",
+                "---",
+                "apiVersion: v1",
+                "kind: Service",
+                "metadata:",
+                "  name: app",
+                "spec:",
+                "  selector:",
+                "    app: app",
+                "  ports:",
+                "  - port: 8080",
+                "").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
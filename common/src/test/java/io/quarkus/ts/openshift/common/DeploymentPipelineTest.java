@@ -0,0 +1,91 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeploymentPipelineTest {
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+    private AsyncTeardown teardown;
+    private OpenShiftClient oc;
+    private DeploymentPipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+        teardown = new AsyncTeardown(sharedClient);
+        oc = sharedClient.forTestClass("DeploymentPipelineTest", null).client;
+        pipeline = new DeploymentPipeline(oc, teardown);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        teardown.close();
+        sharedClient.close();
+        mockCluster.close();
+    }
+
+    @Test
+    public void createdResourcesReturnedInOrder() throws Exception {
+        List<HasMetadata> applied = pipeline.apply(resources("1"));
+
+        assertEquals(2, applied.size());
+        assertEquals("config", applied.get(0).getMetadata().getName());
+        assertEquals("app", applied.get(1).getMetadata().getName());
+        assertTrue(applied.get(1) instanceof DeploymentConfig);
+        assertNotNull(oc.deploymentConfigs().withName("app").get());
+    }
+
+    @Test
+    public void reapplyKeepsTriggerResolvedImage() throws Exception {
+        pipeline.apply(resources("1"));
+
+        // what the image change trigger would do
+        DeploymentConfig dc = oc.deploymentConfigs().withName("app").get();
+        dc.getSpec().getTemplate().getSpec().getContainers().get(0).setImage("registry.local/test/app@sha256:1234");
+        oc.deploymentConfigs().createOrReplace(dc);
+
+        List<HasMetadata> applied = pipeline.apply(resources("2"));
+        assertEquals(2, applied.size());
+
+        dc = oc.deploymentConfigs().withName("app").get();
+        assertEquals("registry.local/test/app@sha256:1234", dc.getSpec().getTemplate().getSpec().getContainers().get(0).getImage());
+        assertEquals("2", oc.configMaps().withName("config").get().getData().get("value"));
+        assertFalse(oc.configMaps().withName("config").get().getData().containsKey("removed-" + 1));
+    }
+
+    private static List<HasMetadata> resources(String value) {
+        return Arrays.asList(
+                new ConfigMapBuilder()
+                        .withNewMetadata().withName("config").endMetadata()
+                        .addToData("value", value)
+                        .addToData("removed-" + value, value)
+                        .build(),
+                new DeploymentConfigBuilder()
+                        .withNewMetadata().withName("app").endMetadata()
+                        .withNewSpec()
+                        .withReplicas(1)
+                        .withNewTemplate()
+                        .withNewSpec()
+                        .addNewContainer().withName("app").withImage("app:1.0").endContainer()
+                        .endSpec()
+                        .endTemplate()
+                        .endSpec()
+                        .build());
+    }
+}
@@ -0,0 +1,104 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.openshift.api.model.Project;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The pool makes acquired namespaces the current {@code oc} project, unless {@code -Dts.parallel-safe} is set,
+ * so this class runs in the {@code mock-cluster-test} Surefire execution.
+ */
+public class EphemeralNamespacePoolTest {
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+    private OpenShiftClient oc;
+
+    @BeforeEach
+    public void setUp() {
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+        oc = sharedClient.forTestClass("EphemeralNamespacePoolTest", null).client;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Project project : oc.projects().list().getItems()) {
+            oc.projects().delete(project);
+        }
+        sharedClient.close();
+        mockCluster.close();
+    }
+
+    @Test
+    public void namespacesPreCreated() {
+        EphemeralNamespacePool pool = new EphemeralNamespacePool(sharedClient, 2);
+        try {
+            await().atMost(10, TimeUnit.SECONDS).until(() -> projects().size() == 2);
+            for (String project : projects()) {
+                await().atMost(10, TimeUnit.SECONDS)
+                        .until(() -> oc.serviceAccounts().inNamespace(project).withName("builder").get() != null);
+            }
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void acquiredNamespaceUsableForBuilds() throws Exception {
+        EphemeralNamespacePool pool = new EphemeralNamespacePool(sharedClient, 1);
+        try {
+            EphemeralNamespace first = pool.acquire();
+            assertNotNull(oc.serviceAccounts().inNamespace(first.name).withName("builder").get());
+
+            // the pool is replenished in the background, the next namespace is a new one
+            EphemeralNamespace second = pool.acquire();
+            assertNotEquals(first.name, second.name);
+            assertNotNull(oc.serviceAccounts().inNamespace(second.name).withName("builder").get());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void releasedNamespaceDeletedInBackground() throws Exception {
+        EphemeralNamespacePool pool = new EphemeralNamespacePool(sharedClient, 1);
+        try {
+            EphemeralNamespace namespace = pool.acquire();
+            assertTrue(projects().contains(namespace.name));
+
+            pool.release(namespace);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> !projects().contains(namespace.name));
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void closeDeletesUnusedAndAwaitsPendingDeletions() throws Exception {
+        EphemeralNamespacePool pool = new EphemeralNamespacePool(sharedClient, 3);
+        EphemeralNamespace used = pool.acquire();
+        pool.release(used);
+
+        pool.close();
+
+        assertEquals(0, projects().size(), "projects left: " + projects());
+    }
+
+    private Set<String> projects() {
+        List<Project> projects = oc.projects().list().getItems();
+        return projects.stream().map(project -> project.getMetadata().getName()).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,52 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.FootprintRecorder.LoadWindow;
+import io.quarkus.ts.openshift.common.FootprintRecorder.Sample;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class FootprintRecorderTest {
+    @Test
+    public void idleAndLoad() {
+        List<Sample> samples = new ArrayList<>();
+        // idle at 50 MB, then 10 samples under load growing to 150 MB, then idle at 60 MB
+        for (int i = 0; i < 10; i++) {
+            samples.add(new Sample(i, 1, 50));
+        }
+        for (int i = 10; i < 20; i++) {
+            samples.add(new Sample(i, 500, 100 + (i - 10) * 5));
+        }
+        for (int i = 20; i < 30; i++) {
+            samples.add(new Sample(i, 2, 60));
+        }
+
+        Map<String, Object> summary = FootprintRecorder.summarize(samples,
+                Collections.singletonList(new LoadWindow(10, 19, 250)));
+        assertEquals(30, summary.get("samples"));
+        assertEquals(145.0, summary.get("peakMemoryMb"));
+        // nearest rank: 29th of 30 sorted values
+        assertEquals(140.0, summary.get("p95MemoryMb"));
+        // 10 samples at 50 MB and 10 samples at 60 MB, nearest rank median is the 10th
+        assertEquals(50.0, summary.get("idleMemoryMb"));
+        assertEquals(500.0, summary.get("peakCpuMillicores"));
+        assertEquals(1.0, summary.get("idleCpuMillicores"));
+        assertEquals(122.5, summary.get("loadMemoryMb"));
+        assertEquals(0.49, (double) summary.get("memoryMbPerRps"), 0.0001);
+    }
+
+    @Test
+    public void noLoad() {
+        Map<String, Object> summary = FootprintRecorder.summarize(
+                Collections.singletonList(new Sample(0, 10, 80)), Collections.emptyList());
+        assertEquals(80.0, summary.get("peakMemoryMb"));
+        assertEquals(80.0, summary.get("idleMemoryMb"));
+        assertFalse(summary.containsKey("memoryMbPerRps"));
+    }
+}
@@ -0,0 +1,74 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.ImageOverrides.ImageOverridesConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ImageOverridesTest {
+    private static ImageOverridesConfig config(String... lines) {
+        return ImageOverridesConfig.parse(Stream.of(lines));
+    }
+
+    @Test
+    public void longestPrefixWins() {
+        ImageOverridesConfig config = config(
+                "registry.example.com/*=mirror.local/*",
+                "registry.example.com/ns/*=other.local/other-ns/*");
+
+        assertEquals("other.local/other-ns/image:1.0", config.overrideFor("registry.example.com/ns/image:1.0"));
+        assertEquals("mirror.local/foo/image:1.0", config.overrideFor("registry.example.com/foo/image:1.0"));
+        assertEquals("docker.io/library/image:1.0", config.overrideFor("docker.io/library/image:1.0"));
+    }
+
+    @Test
+    public void prefixMatchesWholeSegments() {
+        ImageOverridesConfig config = config("registry.example.com/ns/*=mirror.local/ns/*");
+
+        assertEquals("mirror.local/ns/image", config.overrideFor("registry.example.com/ns/image"));
+        assertEquals("registry.example.com/ns2/image", config.overrideFor("registry.example.com/ns2/image"));
+        assertEquals("registry.example.com.evil/ns/image", config.overrideFor("registry.example.com.evil/ns/image"));
+    }
+
+    @Test
+    public void bareWildcardMatchesAllImages() {
+        ImageOverridesConfig config = config(
+                "# everything goes through the mirror",
+                "*=mirror.local/*",
+                "",
+                "quay.io/*=quay-mirror.local/*");
+
+        assertEquals("mirror.local/registry.example.com/ns/image:1.0",
+                config.overrideFor("registry.example.com/ns/image:1.0"));
+        assertEquals("mirror.local/image", config.overrideFor("image"));
+        assertEquals("quay-mirror.local/ns/image", config.overrideFor("quay.io/ns/image"));
+    }
+
+    @Test
+    public void registryPortIsNotTag() {
+        ImageOverridesConfig config = config(
+                "registry.example.com:5000/ns/image=mirror.local/image:override",
+                "registry.example.com:5000/*=port-mirror.local/*");
+
+        assertEquals("mirror.local/image:override", config.overrideFor("registry.example.com:5000/ns/image:1.0"));
+        assertEquals("mirror.local/image:override", config.overrideFor("registry.example.com:5000/ns/image"));
+        assertEquals("mirror.local/image:override",
+                config.overrideFor("registry.example.com:5000/ns/image@sha256:0123456789abcdef"));
+        assertEquals("port-mirror.local/ns/other:1.0", config.overrideFor("registry.example.com:5000/ns/other:1.0"));
+        assertEquals("registry.example.com/ns/image:1.0", config.overrideFor("registry.example.com/ns/image:1.0"));
+    }
+
+    @Test
+    public void exactRulesBeforePrefixRules() {
+        ImageOverridesConfig config = config(
+                "registry.example.com/*=mirror.local/*",
+                "registry.example.com/ns/image=exact.local/image:latest",
+                "registry.example.com/ns/image:1.0=exact.local/image:1.0-patched");
+
+        assertEquals("exact.local/image:1.0-patched", config.overrideFor("registry.example.com/ns/image:1.0"));
+        assertEquals("exact.local/image:latest", config.overrideFor("registry.example.com/ns/image:2.0"));
+        assertEquals("mirror.local/ns/other:1.0", config.overrideFor("registry.example.com/ns/other:1.0"));
+    }
+}
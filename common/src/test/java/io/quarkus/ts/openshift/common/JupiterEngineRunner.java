@@ -0,0 +1,122 @@
+package io.quarkus.ts.openshift.common;
+
+import org.junit.jupiter.engine.JupiterTestEngine;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.DiscoveryFilter;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs test classes through the JUnit Jupiter engine, all of them in a single engine execution, so that they
+ * share the root extension context (just like test classes of one module do).
+ */
+final class JupiterEngineRunner {
+    private final JupiterTestEngine engine = new JupiterTestEngine();
+    private final Map<String, String> configuration = new HashMap<>();
+
+    /**
+     * Test classes will run concurrently, each test class in its own thread.
+     */
+    JupiterEngineRunner concurrentClasses(int parallelism) {
+        configuration.put("junit.jupiter.execution.parallel.enabled", "true");
+        configuration.put("junit.jupiter.execution.parallel.mode.classes.default", "concurrent");
+        configuration.put("junit.jupiter.execution.parallel.config.strategy", "fixed");
+        configuration.put("junit.jupiter.execution.parallel.config.fixed.parallelism", String.valueOf(parallelism));
+        return this;
+    }
+
+    /**
+     * Returns all failures, in the order in which they happened; the list is empty if all tests passed.
+     */
+    List<Throwable> run(Class<?>... testClasses) {
+        ConfigurationParameters parameters = new MapConfigurationParameters(configuration);
+        TestDescriptor root = engine.discover(new ClassesDiscoveryRequest(testClasses, parameters),
+                UniqueId.forEngine(engine.getId()));
+        FailureListener listener = new FailureListener();
+        engine.execute(new ExecutionRequest(root, listener, parameters));
+        return listener.failures;
+    }
+
+    private static final class ClassesDiscoveryRequest implements EngineDiscoveryRequest {
+        private final List<DiscoverySelector> selectors;
+        private final ConfigurationParameters parameters;
+
+        ClassesDiscoveryRequest(Class<?>[] testClasses, ConfigurationParameters parameters) {
+            this.selectors = Stream.of(testClasses).map(DiscoverySelectors::selectClass).collect(Collectors.toList());
+            this.parameters = parameters;
+        }
+
+        @Override
+        public <T extends DiscoverySelector> List<T> getSelectorsByType(Class<T> selectorType) {
+            return selectors.stream()
+                    .filter(selectorType::isInstance)
+                    .map(selectorType::cast)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public <T extends DiscoveryFilter<?>> List<T> getFiltersByType(Class<T> filterType) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public ConfigurationParameters getConfigurationParameters() {
+            return parameters;
+        }
+    }
+
+    private static final class MapConfigurationParameters implements ConfigurationParameters {
+        private final Map<String, String> map;
+
+        MapConfigurationParameters(Map<String, String> map) {
+            this.map = new HashMap<>(map);
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.ofNullable(map.get(key));
+        }
+
+        @Override
+        public Optional<Boolean> getBoolean(String key) {
+            return get(key).map(Boolean::valueOf);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+    }
+
+    private static final class FailureListener implements EngineExecutionListener {
+        private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult result) {
+            if (result.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+                failures.add(result.getThrowable()
+                        .orElseGet(() -> new AssertionError(testDescriptor.getDisplayName() + " failed")));
+            }
+        }
+
+        @Override
+        public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+            failures.add(new AssertionError(testDescriptor.getDisplayName() + " skipped: " + reason));
+        }
+    }
+}
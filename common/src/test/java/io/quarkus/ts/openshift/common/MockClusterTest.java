@@ -0,0 +1,105 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
+import io.fabric8.openshift.api.model.BuildConfigBuilder;
+import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigBuilder;
+import io.fabric8.openshift.api.model.Route;
+import io.fabric8.openshift.api.model.RouteBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MockClusterTest {
+    @TempDir
+    Path directory;
+
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+    private OpenShiftClient oc;
+
+    @BeforeEach
+    public void setUp() {
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+        oc = sharedClient.forTestClass("MockClusterTest", null).client;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sharedClient.close();
+        mockCluster.close();
+    }
+
+    @Test
+    public void workloadsAndServicesBecomeReady() throws InterruptedException {
+        oc.deploymentConfigs().create(new DeploymentConfigBuilder()
+                .withNewMetadata().withName("app").endMetadata()
+                .withNewSpec().withReplicas(2).endSpec()
+                .build());
+        oc.services().create(new ServiceBuilder()
+                .withNewMetadata().withName("app").endMetadata()
+                .build());
+        Route route = oc.routes().create(new RouteBuilder()
+                .withNewMetadata().withName("app").endMetadata()
+                .withNewSpec().withHost("app.example.com").endSpec()
+                .build());
+
+        DeploymentConfig dc = oc.deploymentConfigs().withName("app")
+                .waitUntilCondition(it -> it.getStatus() != null && it.getStatus().getReadyReplicas() != null,
+                        10, TimeUnit.SECONDS);
+        assertEquals(2, dc.getStatus().getAvailableReplicas());
+
+        Endpoints endpoints = oc.endpoints().withName("app")
+                .waitUntilCondition(it -> it != null && !it.getSubsets().isEmpty(), 10, TimeUnit.SECONDS);
+        assertEquals(1, endpoints.getSubsets().get(0).getAddresses().size());
+
+        // the route points to the application stand-in
+        assertNotEquals("app.example.com", route.getSpec().getHost());
+        assertNull(route.getSpec().getTls());
+    }
+
+    @Test
+    public void binaryBuildCompletes() throws Exception {
+        oc.buildConfigs().create(new BuildConfigBuilder()
+                .withNewMetadata().withName("app").endMetadata()
+                .build());
+
+        Path file = directory.resolve("app-runner");
+        Files.write(file, new byte[] { 1, 2, 3 });
+        new BinaryBuild(oc, "app").fromFile(file);
+
+        assertEquals("Complete", oc.builds().withName("app-1").get().getStatus().getPhase());
+    }
+
+    @Test
+    public void podMetricsOfReadyWorkloads() throws InterruptedException {
+        oc.deploymentConfigs().create(new DeploymentConfigBuilder()
+                .withNewMetadata().withName("app").endMetadata()
+                .withNewSpec().withReplicas(2).endSpec()
+                .build());
+
+        oc.deploymentConfigs().withName("app")
+                .waitUntilCondition(it -> it.getStatus() != null && it.getStatus().getReadyReplicas() != null,
+                        10, TimeUnit.SECONDS);
+        List<PodMetrics> metrics = oc.top().pods().metrics(oc.getNamespace()).getItems();
+        assertEquals(2, metrics.size());
+        Quantity memory = metrics.get(0).getContainers().get(0).getUsage().get("memory");
+        assertTrue(Quantity.getAmountInBytes(memory).longValue() > 0);
+    }
+}
@@ -0,0 +1,111 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.EventBuilder;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.api.model.WatchEvent;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.server.mock.OpenShiftMockServer;
+import io.quarkus.ts.openshift.common.NamespaceRecorder.RingBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NamespaceRecorderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void spillsEverythingWhenBufferIsLargeEnough() throws IOException {
+        Path file = directory.resolve("pod.log");
+        RingBuffer buffer = new RingBuffer(file, 8);
+
+        buffer.append("abcde");
+        buffer.spill();
+        buffer.append("fghij");
+        buffer.spill();
+        buffer.closeFile();
+
+        assertEquals("abcdefghij", read(file));
+    }
+
+    @Test
+    public void dropsOldestOutputWhenBufferOverflows() throws IOException {
+        Path file = directory.resolve("pod.log");
+        RingBuffer buffer = new RingBuffer(file, 8);
+
+        buffer.append("abc");
+        buffer.spill();
+        buffer.append("0123456789");
+        buffer.append("xy");
+        buffer.spill();
+        buffer.closeFile();
+
+        assertEquals("abc\n... 4 bytes dropped\n456789xy", read(file));
+    }
+
+    @Test
+    public void eventWatchReestablishedAfterError() throws IOException {
+        OpenShiftMockServer server = new OpenShiftMockServer(false);
+        server.init();
+        try (OpenShiftClient oc = server.createOpenShiftClient()) {
+            server.expect().withPath("/api/v1/namespaces/test/pods").andReturn(200, new PodListBuilder().build()).always();
+            server.expect().withPath("/api/v1/namespaces/test/pods?watch=true").andUpgradeToWebSocket().open().done().always();
+            // the first watch ends with 410 Gone, the second one replays the first event
+            server.expect().withPath("/api/v1/namespaces/test/events?watch=true").andUpgradeToWebSocket().open()
+                    .immediately().andEmit(new WatchEvent(event("1", "first"), "ADDED"))
+                    .waitFor(100).andEmit(new WatchEvent(new StatusBuilder().withCode(410).withMessage("too old resource version")
+                            .build(), "ERROR"))
+                    .done().once();
+            server.expect().withPath("/api/v1/namespaces/test/events?watch=true").andUpgradeToWebSocket().open()
+                    .immediately().andEmit(new WatchEvent(event("1", "first"), "ADDED"))
+                    .immediately().andEmit(new WatchEvent(event("2", "second"), "ADDED"))
+                    .done().once();
+
+            NamespaceRecorder recorder = new NamespaceRecorder(oc, directory);
+            recorder.start();
+            Path file = directory.resolve("events.recorded.log");
+            await().atMost(10, TimeUnit.SECONDS).until(() -> Files.exists(file) && read(file).contains("second"));
+            recorder.close();
+
+            String recorded = read(file);
+            assertEquals(1, count(recorded, "first"), recorded);
+            assertEquals(1, count(recorded, "second"), recorded);
+            assertTrue(recorded.contains("event watch closed"), recorded);
+        } finally {
+            server.destroy();
+        }
+    }
+
+    private static Event event(String uid, String message) {
+        return new EventBuilder()
+                .withNewMetadata().withName("app." + uid).withUid(uid).withResourceVersion("1").endMetadata()
+                .withType("Normal")
+                .withReason("Started")
+                .withNewInvolvedObject().withKind("Pod").withName("app-1-abcde").endInvolvedObject()
+                .withMessage(message)
+                .build();
+    }
+
+    private static int count(String text, String substring) {
+        int result = 0;
+        for (int i = text.indexOf(substring); i >= 0; i = text.indexOf(substring, i + 1)) {
+            result++;
+        }
+        return result;
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,242 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.quarkus.ts.openshift.app.metadata.AppMetadata;
+import io.quarkus.ts.openshift.common.injection.TestResource;
+import io.restassured.RestAssured;
+import io.restassured.specification.QueryableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs sample test classes through the whole test framework against the mock cluster. This class runs
+ * with {@code -Dts.mock-cluster} and {@code -Dts.parallel-safe}, see the {@code mock-cluster-test}
+ * Surefire execution.
+ */
+public class OpenShiftTestExtensionTest {
+    private static final String APP_NAME = "reused-app";
+
+    private static final Path TARGET = Paths.get("target");
+    private static final Path RESOURCES_YAML = TARGET.resolve("kubernetes").resolve("openshift.yml");
+    private static final Path RUNNER_JAR = TARGET.resolve(APP_NAME + "-runner.jar");
+
+    private static final AtomicInteger deployments = new AtomicInteger();
+
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+    private OpenShiftClient oc;
+
+    @BeforeAll
+    public static void writeApplication() throws IOException {
+        Files.createDirectories(RESOURCES_YAML.getParent());
+        Files.write(RESOURCES_YAML, resourcesYaml().getBytes(StandardCharsets.UTF_8));
+        Files.write(RUNNER_JAR, new byte[1024]);
+    }
+
+    @AfterAll
+    public static void deleteApplication() throws IOException {
+        Files.deleteIfExists(RESOURCES_YAML);
+        Files.deleteIfExists(RUNNER_JAR);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        // keeps the mock cluster running after the test framework releases it
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+        oc = sharedClient.forTestClass("OpenShiftTestExtensionTest", null).client;
+        deployments.set(0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sharedClient.close();
+        mockCluster.close();
+    }
+
+    @Test
+    public void reusedDeploymentOutlivesTestClasses() {
+        List<Throwable> failures = new JupiterEngineRunner().run(FirstReusingTest.class, SecondReusingTest.class);
+
+        assertEquals(Collections.emptyList(), failures);
+        assertEquals(1, deployments.get());
+        // undeployed when the root context is closed
+        assertNull(oc.deploymentConfigs().withName(APP_NAME).get());
+    }
+
+    @Test
+    public void reusedDeploymentDeployedOnceByConcurrentTestClasses() {
+        List<Throwable> failures = new JupiterEngineRunner().concurrentClasses(2)
+                .run(FirstReusingTest.class, SecondReusingTest.class);
+
+        assertEquals(Collections.emptyList(), failures);
+        assertEquals(1, deployments.get());
+        assertNull(oc.deploymentConfigs().withName(APP_NAME).get());
+    }
+
+    @Test
+    public void requestSpecificationPerTestClass() {
+        List<Throwable> failures = new JupiterEngineRunner().run(FirstHttpRootTest.class, SecondHttpRootTest.class);
+
+        assertEquals(Collections.emptyList(), failures);
+        assertEquals(RestAssured.DEFAULT_URI, RestAssured.baseURI);
+        assertEquals(RestAssured.DEFAULT_PATH, RestAssured.basePath);
+    }
+
+    public abstract static class HttpRootTest {
+        @TestResource
+        private RequestSpecification spec;
+
+        @TestResource
+        private URL url;
+
+        @TestResource
+        private AppMetadata metadata;
+
+        @Test
+        public void specificationOfThisTestClass() {
+            QueryableRequestSpecification query = SpecificationQuerier.query(spec);
+            assertEquals(metadata.httpRoot, query.getBasePath());
+            assertTrue(query.getBaseUri().startsWith(url.getProtocol() + "://" + url.getHost()), query.getBaseUri());
+            given().spec(spec).get("/").then().statusCode(200);
+        }
+
+        @Test
+        public void globalRestAssuredUntouched() {
+            // `-Dts.parallel-safe` is set, see the class javadoc
+            assertEquals(RestAssured.DEFAULT_URI, RestAssured.baseURI);
+            assertEquals(RestAssured.DEFAULT_PATH, RestAssured.basePath);
+        }
+    }
+
+    @OpenShiftTest
+    @CustomAppMetadata(appName = APP_NAME, httpRoot = "/first", knownEndpoint = "/")
+    public static class FirstHttpRootTest extends HttpRootTest {
+    }
+
+    @OpenShiftTest
+    @CustomAppMetadata(appName = APP_NAME, httpRoot = "/second", knownEndpoint = "/")
+    public static class SecondHttpRootTest extends HttpRootTest {
+    }
+
+    @OpenShiftTest(reuse = ReuseScope.MODULE)
+    @CustomAppMetadata(appName = APP_NAME, httpRoot = "/", knownEndpoint = "/")
+    public abstract static class ReusingTest {
+        @TestResource
+        private OpenShiftClient oc;
+
+        @TestResource
+        private RequestSpecification spec;
+
+        // declared in the common superclass, so that all subclasses share the reuse key
+        @CustomizeApplicationDeployment
+        public static void countDeployment() {
+            deployments.incrementAndGet();
+        }
+
+        @Test
+        public void deploymentAlive() {
+            assertNotNull(oc.deploymentConfigs().withName(APP_NAME).get());
+            given().spec(spec).get("/").then().statusCode(200);
+        }
+    }
+
+    @OpenShiftTest(reuse = ReuseScope.MODULE)
+    @CustomAppMetadata(appName = APP_NAME, httpRoot = "/", knownEndpoint = "/")
+    public static class FirstReusingTest extends ReusingTest {
+    }
+
+    @OpenShiftTest(reuse = ReuseScope.MODULE)
+    @CustomAppMetadata(appName = APP_NAME, httpRoot = "/", knownEndpoint = "/")
+    public static class SecondReusingTest extends ReusingTest {
+    }
+
+    private static String resourcesYaml() {
+        return String.join("\n",
+                "---",
+                "apiVersion: image.openshift.io/v1",
+                "kind: ImageStream",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  lookupPolicy:",
+                "    local: true",
+                "---",
+                "apiVersion: build.openshift.io/v1",
+                "kind: BuildConfig",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  output:",
+                "    to:",
+                "      kind: ImageStreamTag",
+                "      name: " + APP_NAME + ":1.0",
+                "  source:",
+                "    binary: {}",
+                "  strategy:",
+                "    sourceStrategy:",
+                "      from:",
+                "        kind: DockerImage",
+                "        name: registry.access.redhat.com/ubi8/openjdk-11",
+                "---",
+                "apiVersion: apps.openshift.io/v1",
+                "kind: DeploymentConfig",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  replicas: 1",
+                "  selector:",
+                "    app: " + APP_NAME,
+                "  template:",
+                "    metadata:",
+                "      labels:",
+                "        app: " + APP_NAME,
+                "    spec:",
+                "      containers:",
+                "      - name: " + APP_NAME,
+                "        image: " + APP_NAME + ":1.0",
+                "        ports:",
+                "        - containerPort: 8080",
+                "---",
+                "apiVersion: v1",
+                "kind: Service",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  selector:",
+                "    app: " + APP_NAME,
+                "  ports:",
+                "  - port: 8080",
+                "---",
+                "apiVersion: route.openshift.io/v1",
+                "kind: Route",
+                "metadata:",
+                "  name: " + APP_NAME,
+                "spec:",
+                "  to:",
+                "    kind: Service",
+                "    name: " + APP_NAME,
+                "");
+    }
+}
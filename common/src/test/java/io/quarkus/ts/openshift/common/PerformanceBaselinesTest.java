@@ -0,0 +1,88 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.PerformanceBaselines.Comparison;
+import io.quarkus.ts.openshift.common.PerformanceBaselines.Metric;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PerformanceBaselinesTest {
+    @Test
+    public void noBaseline() {
+        assertFalse(PerformanceBaselines.compare("SomeIT", Metric.STARTUP, Collections.emptyList(), 1000).isPresent());
+    }
+
+    @Test
+    public void singleBaselineRun() {
+        assertFalse(compare(Metric.STARTUP, 1080, 1000).regression);
+        assertTrue(compare(Metric.STARTUP, 1120, 1000).regression);
+        // higher throughput is better
+        assertFalse(compare(Metric.THROUGHPUT, 1120, 1000).regression);
+        assertTrue(compare(Metric.THROUGHPUT, 880, 1000).regression);
+    }
+
+    @Test
+    public void noisyBaseline() {
+        // mean 1000, sample standard deviation 230.9
+        Comparison comparison = compare(Metric.LATENCY_P99, 1300, 800, 1200, 800, 1200);
+        assertEquals(1000, comparison.baselineMean, 0.001);
+        assertEquals(230.940, comparison.baselineStandardDeviation, 0.001);
+        assertFalse(comparison.regression);
+
+        assertTrue(compare(Metric.LATENCY_P99, 1700, 800, 1200, 800, 1200).regression);
+    }
+
+    @Test
+    public void stableBaseline() {
+        assertTrue(compare(Metric.LATENCY_P99, 1150, 1000, 1001, 999, 1000).regression);
+    }
+
+    @Test
+    public void onlyRecentRunsAreConsidered() {
+        Double[] baseline = new Double[PerformanceBaselines.MAX_BASELINE_RUNS + 5];
+        Arrays.fill(baseline, 1000.0);
+        Arrays.fill(baseline, 0, 5, 5000.0);
+        Comparison comparison = PerformanceBaselines.compare("SomeIT", Metric.STARTUP, Arrays.asList(baseline), 1000).get();
+        assertEquals(1000, comparison.baselineMean, 0.001);
+        assertEquals(PerformanceBaselines.MAX_BASELINE_RUNS, comparison.baselineRuns);
+    }
+
+    @Test
+    public void storedMeasurementsBecomeBaseline(@TempDir Path directory) throws Exception {
+        for (int i = 0; i < 3; i++) {
+            PerformanceBaselines baselines = new PerformanceBaselines(directory, "http", "HttpOpenShiftIT", "1.11.0.Final", false);
+            baselines.record("HttpOpenShiftIT", Metric.STARTUP, 1000 + i);
+            assertTrue(baselines.compareAndStore().isEmpty());
+        }
+
+        // different mode, no baseline
+        PerformanceBaselines nativeBaselines = new PerformanceBaselines(directory, "http", "HttpOpenShiftIT", "1.11.0.Final", true);
+        nativeBaselines.record("HttpOpenShiftIT", Metric.STARTUP, 5000);
+        assertTrue(nativeBaselines.compareAndStore().isEmpty());
+
+        PerformanceBaselines baselines = new PerformanceBaselines(directory, "http", "HttpOpenShiftIT", "1.11.0.Final", false);
+        baselines.record("HttpOpenShiftIT", Metric.STARTUP, 2000);
+        List<Comparison> regressions = baselines.compareAndStore();
+        assertEquals(1, regressions.size());
+        assertEquals(3, regressions.get(0).baselineRuns);
+        assertEquals(1001, regressions.get(0).baselineMean, 0.001);
+        // printed to consoles that aren't necessarily UTF-8
+        assertTrue(regressions.get(0).toString().contains(" +/- "), regressions.get(0).toString());
+
+        assertEquals(5, Files.readAllLines(directory.resolve("http.jsonl")).size());
+    }
+
+    private static Comparison compare(Metric metric, double current, double... baseline) {
+        Double[] values = Arrays.stream(baseline).boxed().toArray(Double[]::new);
+        return PerformanceBaselines.compare("SomeIT", metric, Arrays.asList(values), current).get();
+    }
+}
@@ -0,0 +1,78 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.util.LoadGenerator;
+import io.quarkus.ts.openshift.common.util.LoadResult;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PerformanceBudgetsTest {
+    private MockWebServer server;
+    private LoadGenerator load;
+    private PhaseTimeline timeline;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody("OK").setBodyDelay(10, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+        load = new LoadGenerator(server.url("/").toString());
+        timeline = new PhaseTimeline("common", "PerformanceBudgetsTest", PerformanceBudgetsTest.class.getName());
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        load.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void budgetMet() throws Exception {
+        PerformanceBudget budget = budget("generous");
+        PerformanceBudgets.check(budget, PerformanceBudgets.measure(budget, "PerformanceBudgetsTest.budgetMet", load, timeline));
+
+        assertTrue(Files.exists(PerformanceBudgets.REPORT_DIR.resolve("PerformanceBudgetsTest.budgetMet-performance.hlog")));
+        assertTrue(Files.exists(PerformanceBudgets.REPORT_DIR.resolve("PerformanceBudgetsTest.budgetMet-performance.txt")));
+    }
+
+    @Test
+    public void latencyExceeded() throws Exception {
+        PerformanceBudget budget = budget("strict");
+        LoadResult result = PerformanceBudgets.measure(budget, "PerformanceBudgetsTest.latencyExceeded", load, timeline);
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> PerformanceBudgets.check(budget, result));
+
+        assertTrue(error.getMessage().contains("p99 latency"), error.getMessage());
+        assertTrue(error.getMessage().contains("Percentile"), error.getMessage());
+    }
+
+    private static PerformanceBudget budget(String method) throws NoSuchMethodException {
+        return Budgets.class.getDeclaredMethod(method).getAnnotation(PerformanceBudget.class);
+    }
+
+    static class Budgets {
+        @PerformanceBudget(endpoint = "/hello", p99Millis = 5_000, minRps = 10, users = 2, warmUpSeconds = 0, durationSeconds = 1)
+        void generous() {
+        }
+
+        @PerformanceBudget(endpoint = "/hello", p99Millis = 1, users = 2, warmUpSeconds = 0, durationSeconds = 1)
+        void strict() {
+        }
+    }
+}
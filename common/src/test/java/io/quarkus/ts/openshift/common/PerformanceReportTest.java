@@ -0,0 +1,64 @@
+package io.quarkus.ts.openshift.common;
+
+import io.quarkus.ts.openshift.common.PerformanceReport.Span;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PerformanceReportTest {
+    @Test
+    public void sequentialClasses() {
+        List<Span> spans = Arrays.asList(
+                span("FirstIT", "apply", 0, 10),
+                span("FirstIT", "build", 10, 50),
+                span("FirstIT", "tests", 60, 20),
+                span("SecondIT", "apply", 80, 10),
+                span("SecondIT", "tests", 90, 5));
+
+        assertEquals(Arrays.asList("apply", "build", "tests", "apply", "tests"), phases(PerformanceReport.criticalPath(spans)));
+    }
+
+    @Test
+    public void concurrentClasses() {
+        List<Span> spans = Arrays.asList(
+                span("FirstIT", "apply", 0, 10),
+                span("SecondIT", "apply", 0, 20),
+                span("FirstIT", "build", 10, 30),
+                span("SecondIT", "build", 20, 100),
+                span("FirstIT", "tests", 40, 10),
+                span("SecondIT", "tests", 120, 10));
+
+        List<Span> criticalPath = PerformanceReport.criticalPath(spans);
+        assertEquals(Arrays.asList("apply", "build", "tests"), phases(criticalPath));
+        assertTrue(criticalPath.stream().allMatch(it -> it.testClass.equals("SecondIT")));
+    }
+
+    @Test
+    public void zeroDurationSpans() {
+        List<Span> spans = Arrays.asList(
+                span("FirstIT", "ephemeral namespace", 0, 0),
+                span("FirstIT", "customize deployment", 0, 0));
+
+        assertEquals(2, PerformanceReport.criticalPath(spans).size());
+    }
+
+    @Test
+    public void empty() {
+        assertTrue(PerformanceReport.criticalPath(Collections.emptyList()).isEmpty());
+        assertTrue(PerformanceReport.render(Collections.emptyList()).startsWith("Performance report: 0 modules"));
+    }
+
+    private static Span span(String testClass, String phase, long start, long duration) {
+        return new Span("http", testClass, "io.quarkus.ts.openshift.http." + testClass, phase, null, start, duration);
+    }
+
+    private static List<String> phases(List<Span> spans) {
+        return spans.stream().map(it -> it.phase).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,38 @@
+package io.quarkus.ts.openshift.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShardPlannerTest {
+    @Test
+    public void longestFirst() {
+        Map<String, Long> durations = new HashMap<>();
+        durations.put("a.FirstIT", 70L);
+        durations.put("a.SecondIT", 50L);
+        durations.put("b.ThirdIT", 40L);
+        durations.put("b.FourthIT", 30L);
+        durations.put("c.FifthIT", 10L);
+
+        Map<String, Integer> plan = ShardPlanner.plan(durations, 2);
+
+        // 70 + 30 = 100 vs. 50 + 40 + 10 = 100
+        assertEquals(1, plan.get("a.FirstIT"));
+        assertEquals(2, plan.get("a.SecondIT"));
+        assertEquals(2, plan.get("b.ThirdIT"));
+        assertEquals(1, plan.get("b.FourthIT"));
+        assertEquals(2, plan.get("c.FifthIT"));
+    }
+
+    @Test
+    public void unknownClassesByHash() {
+        ShardPlanner planner = new ShardPlanner(1, 3, ShardPlanner.plan(new HashMap<>(), 3));
+
+        int shard = planner.shardOf("a.UnknownIT");
+        assertEquals(shard, planner.shardOf("a.UnknownIT"));
+        assertEquals(Math.floorMod("a.UnknownIT".hashCode(), 3) + 1, shard);
+    }
+}
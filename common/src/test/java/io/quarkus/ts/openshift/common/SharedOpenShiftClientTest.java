@@ -0,0 +1,99 @@
+package io.quarkus.ts.openshift.common;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.HttpClientAware;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedOpenShiftClientTest {
+    private MockCluster mockCluster;
+    private SharedOpenShiftClient sharedClient;
+
+    @BeforeEach
+    public void setUp() {
+        mockCluster = MockCluster.acquire();
+        sharedClient = new SharedOpenShiftClient(mockCluster.config(null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sharedClient.close();
+        mockCluster.close();
+    }
+
+    @Test
+    public void testClassesShareConnections() {
+        OpenShiftClientResource first = sharedClient.forTestClass("FirstTest", null);
+        OpenShiftClientResource second = sharedClient.forTestClass("SecondTest", "other");
+
+        OkHttpClient firstHttpClient = httpClient(first);
+        OkHttpClient secondHttpClient = httpClient(second);
+        assertNotSame(firstHttpClient, secondHttpClient);
+        assertSame(firstHttpClient.connectionPool(), secondHttpClient.connectionPool());
+        assertSame(firstHttpClient.dispatcher(), secondHttpClient.dispatcher());
+        assertEquals("other", second.client.getNamespace());
+
+        first.client.configMaps().create(new ConfigMapBuilder().withNewMetadata().withName("first").endMetadata().build());
+        second.client.configMaps().create(new ConfigMapBuilder().withNewMetadata().withName("second").endMetadata().build());
+        // sequential requests to the same host reuse a single keep-alive connection
+        assertEquals(1, firstHttpClient.connectionPool().connectionCount());
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void metricsRecordedPerTestClass() {
+        OpenShiftClientResource first = sharedClient.forTestClass("FirstTest", null);
+        OpenShiftClientResource second = sharedClient.forTestClass("SecondTest", null);
+
+        first.client.configMaps().create(new ConfigMapBuilder().withNewMetadata().withName("config").endMetadata().build());
+        assertNull(first.client.configMaps().withName("missing").get());
+        second.client.configMaps().withName("config").get();
+
+        ApiRequestMetrics firstMetrics = metrics(first);
+        assertEquals(2, firstMetrics.count());
+        // the client turns 404 into `null`, but it's still a failed request
+        assertEquals(1, firstMetrics.failures());
+        assertTrue(firstMetrics.percentile(50) > 0);
+        assertTrue(firstMetrics.percentile(50) <= firstMetrics.percentile(100));
+
+        ApiRequestMetrics secondMetrics = metrics(second);
+        assertEquals(1, secondMetrics.count());
+        assertEquals(0, secondMetrics.failures());
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void noRequestsNoPercentiles() {
+        OpenShiftClientResource client = sharedClient.forTestClass("NoRequestsTest", null);
+
+        assertEquals(0, metrics(client).count());
+        assertEquals(-1, metrics(client).percentile(99));
+
+        client.close();
+    }
+
+    private static OkHttpClient httpClient(OpenShiftClientResource resource) {
+        return ((HttpClientAware) resource.client).getHttpClient();
+    }
+
+    private static ApiRequestMetrics metrics(OpenShiftClientResource resource) {
+        return httpClient(resource).networkInterceptors()
+                .stream()
+                .filter(ApiRequestMetrics.class::isInstance)
+                .map(ApiRequestMetrics.class::cast)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no API request metrics"));
+    }
+}
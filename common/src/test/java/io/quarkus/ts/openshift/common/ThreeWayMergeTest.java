@@ -0,0 +1,56 @@
+package io.quarkus.ts.openshift.common;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ThreeWayMergeTest {
+    @Test
+    public void serverSetFieldsAreKept() throws IOException {
+        ObjectNode desired = json("{'kind':'Route','metadata':{'name':'app'},'spec':{'to':{'name':'app'}}}");
+        ObjectNode live = ThreeWayMerge.forCreate(desired);
+        ((ObjectNode) live.get("spec")).put("host", "app-ns.apps.example.com");
+        ((ObjectNode) live.get("metadata")).put("resourceVersion", "42");
+
+        ObjectNode merged = ThreeWayMerge.merge(live, desired);
+        assertEquals("app-ns.apps.example.com", merged.path("spec").path("host").asText());
+        assertEquals("42", merged.path("metadata").path("resourceVersion").asText());
+        assertEquals("app", merged.path("spec").path("to").path("name").asText());
+    }
+
+    @Test
+    public void changedAndRemovedFieldsAreApplied() throws IOException {
+        ObjectNode previous = json("{'kind':'ConfigMap','metadata':{'name':'config'},'data':{'a':'1','b':'2'}}");
+        ObjectNode live = ThreeWayMerge.forCreate(previous);
+        ((ObjectNode) live.get("metadata")).putObject("labels").put("added-by", "someone-else");
+
+        ObjectNode desired = json("{'kind':'ConfigMap','metadata':{'name':'config'},'data':{'a':'3','c':'4'}}");
+        ObjectNode merged = ThreeWayMerge.merge(live, desired);
+        assertEquals("3", merged.path("data").path("a").asText());
+        assertFalse(merged.path("data").has("b"));
+        assertEquals("4", merged.path("data").path("c").asText());
+        assertEquals("someone-else", merged.path("metadata").path("labels").path("added-by").asText());
+        // the new configuration is the last applied one now
+        assertEquals(json(merged.path("metadata").path("annotations").path(ThreeWayMerge.LAST_APPLIED_ANNOTATION).asText()), desired);
+    }
+
+    @Test
+    public void withoutLastAppliedNothingIsRemoved() throws IOException {
+        ObjectNode live = json("{'kind':'ConfigMap','metadata':{'name':'config'},'data':{'a':'1','b':'2'}}");
+        ObjectNode desired = json("{'kind':'ConfigMap','metadata':{'name':'config'},'data':{'a':'3'}}");
+
+        ObjectNode merged = ThreeWayMerge.merge(live, desired);
+        assertEquals("3", merged.path("data").path("a").asText());
+        assertTrue(merged.path("data").has("b"));
+    }
+
+    private static ObjectNode json(String json) throws IOException {
+        return (ObjectNode) Serialization.jsonMapper().readTree(json.replace('\'', '"'));
+    }
+}
@@ -0,0 +1,165 @@
+package io.quarkus.ts.openshift.common.actions;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.server.mock.OpenShiftMockServer;
+import io.quarkus.ts.openshift.common.config.Config;
+import io.quarkus.ts.openshift.common.config.TestConfig;
+import io.quarkus.ts.openshift.common.util.OpenShiftUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CopyLogsOnOpenShiftFailureActionImplTest {
+    private static final String TRUNCATED = "\n... log truncated, see -Dts.instance-logs-max-size-kb\n";
+
+    @TempDir
+    Path directory;
+
+    private OpenShiftMockServer server;
+    private OpenShiftClient oc;
+
+    @BeforeEach
+    public void startServer() {
+        server = new OpenShiftMockServer(false);
+        server.init();
+        oc = server.createOpenShiftClient();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        oc.close();
+        server.destroy();
+    }
+
+    @Test
+    public void logsOfPodCappedAcrossContainers() throws Exception {
+        pods(pod("app", 1));
+        // the server only gets the remaining size as `limitBytes`, and doesn't have to respect it
+        log("app", "app", true, 1024, repeat('p', 600));
+        log("app", "app", false, 1024 - 600, repeat('c', 2000));
+
+        action("ts.instance-logs-max-size-kb", "1").execute();
+
+        assertEquals(repeat('p', 600), read(logs().resolve("app.previous.log")));
+        assertEquals(repeat('c', 424) + TRUNCATED, read(logs().resolve("app.log")));
+    }
+
+    @Test
+    public void missingPreviousLogSkipped() throws Exception {
+        pods(pod("app", 1));
+        server.expect().get().withPath(logPath("app", "app", true, 10 * 1024 * 1024)).andReturn(404, "").once();
+        log("app", "app", false, 10 * 1024 * 1024, "started\n");
+
+        action().execute();
+
+        assertFalse(Files.exists(logs().resolve("app.previous.log")));
+        assertEquals("started\n", read(logs().resolve("app.log")));
+    }
+
+    @Test
+    public void logsGzipped() throws Exception {
+        pods(pod("app", 0));
+        log("app", "app", false, 10 * 1024 * 1024, "started\n");
+
+        action("ts.instance-logs-gzip", "true").execute();
+
+        assertFalse(Files.exists(logs().resolve("app.log")));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(logs().resolve("app.log.gz")))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            assertEquals("started\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void failedPodReportedOthersCopied() throws Exception {
+        pods(pod("app", 0), pod("broken", 0));
+        log("app", "app", false, 10 * 1024 * 1024, "started\n");
+        server.expect().get().withPath(logPath("broken", "broken", false, 10 * 1024 * 1024)).andReturn(500, "").once();
+
+        Exception e = assertThrows(Exception.class, () -> action().execute());
+
+        assertTrue(e.getMessage().contains("broken: Failed to get log of container broken: HTTP 500"), e.getMessage());
+        assertEquals("started\n", read(logs().resolve("app.log")));
+    }
+
+    private CopyLogsOnOpenShiftFailureActionImpl action(String... config) throws Exception {
+        String[] keysAndValues = new String[config.length + 2];
+        keysAndValues[0] = "ts.instance-logs";
+        keysAndValues[1] = directory.toString();
+        System.arraycopy(config, 0, keysAndValues, 2, config.length);
+
+        // what the test framework injects
+        CopyLogsOnOpenShiftFailureActionImpl action = new CopyLogsOnOpenShiftFailureActionImpl();
+        inject(action, "oc", oc);
+        inject(action, "openShiftUtil", new OpenShiftUtil(oc, null));
+        inject(action, "config", TestConfig.of(keysAndValues));
+        return action;
+    }
+
+    private static void inject(Object instance, String fieldName, Object value) throws Exception {
+        Field field = instance.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(instance, value);
+    }
+
+    private void pods(Pod... pods) {
+        server.expect().get().withPath("/api/v1/namespaces/test/pods")
+                .andReturn(200, new PodListBuilder().withItems(pods).build())
+                .once();
+    }
+
+    private void log(String pod, String container, boolean previous, long limitBytes, String content) {
+        server.expect().get().withPath(logPath(pod, container, previous, limitBytes)).andReturn(200, content).once();
+    }
+
+    private static String logPath(String pod, String container, boolean previous, long limitBytes) {
+        return "/api/v1/namespaces/test/pods/" + pod + "/log?container=" + container + "&previous=" + previous
+                + "&limitBytes=" + limitBytes;
+    }
+
+    private Path logs() {
+        return directory.resolve("test");
+    }
+
+    private static Pod pod(String name, int restarts) {
+        return new PodBuilder()
+                .withNewMetadata().withName(name).endMetadata()
+                .withNewSpec().addNewContainer().withName(name).endContainer().endSpec()
+                .withNewStatus()
+                .addNewContainerStatus().withName(name).withRestartCount(restarts).endContainerStatus()
+                .endStatus()
+                .build();
+    }
+
+    private static String repeat(char c, int count) {
+        return String.join("", Collections.nCopies(count, String.valueOf(c)));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
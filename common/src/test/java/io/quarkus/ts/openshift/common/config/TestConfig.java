@@ -0,0 +1,34 @@
+package io.quarkus.ts.openshift.common.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates {@link Config} instances with given values, instead of the {@linkplain Config#get() global} instance
+ * that is created from system properties when the test JVM starts.
+ */
+public final class TestConfig {
+    private TestConfig() {
+    }
+
+    /**
+     * Key/value pairs, e.g. {@code of("ts.foo", "1", "ts.bar", "true")}.
+     */
+    public static synchronized Config of(String... keysAndValues) {
+        Map<String, String> original = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            original.put(keysAndValues[i], System.setProperty(keysAndValues[i], keysAndValues[i + 1]));
+        }
+        try {
+            return new Config();
+        } finally {
+            original.forEach((key, value) -> {
+                if (value != null) {
+                    System.setProperty(key, value);
+                } else {
+                    System.clearProperty(key);
+                }
+            });
+        }
+    }
+}
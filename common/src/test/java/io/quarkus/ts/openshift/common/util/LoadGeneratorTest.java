@@ -0,0 +1,73 @@
+package io.quarkus.ts.openshift.common.util;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadGeneratorTest {
+    private MockWebServer server;
+    private LoadGenerator load;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("/error".equals(request.getPath())) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                return new MockResponse().setBody("OK").setBodyDelay(5, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+        load = new LoadGenerator(server.url("/").toString());
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        load.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void closedLoop() {
+        LoadResult result = load.closedLoop("/hello", 4, 500, TimeUnit.MILLISECONDS);
+
+        assertEquals(server.getRequestCount(), result.getRequests());
+        assertEquals(0, result.getErrors());
+        assertTrue(result.getSuccessfulRequests() > 4, result.summary());
+        // each request takes at least 5 ms
+        assertTrue(result.getLatencyMillis(50) >= 5, result.summary());
+        assertEquals(result.getSuccessfulRequests(), result.getLatencyHistogram().getTotalCount());
+    }
+
+    @Test
+    public void httpErrors() {
+        LoadResult result = load.closedLoop("error", 2, 200, TimeUnit.MILLISECONDS);
+
+        assertEquals(server.getRequestCount(), result.getRequests());
+        assertEquals(0, result.getSuccessfulRequests());
+        assertEquals(0, result.getIoErrors());
+        assertEquals(result.getRequests(), result.getHttpErrors());
+    }
+
+    @Test
+    public void openLoop() {
+        LoadResult result = load.openLoop("/hello", 100, 1, TimeUnit.SECONDS);
+
+        assertEquals(100, result.getRequests(), result.summary());
+        assertEquals(100, result.getSuccessfulRequests(), result.summary());
+        assertTrue(result.getThroughput() > 80 && result.getThroughput() <= 100, result.summary());
+    }
+}
@@ -0,0 +1,127 @@
+package io.quarkus.ts.openshift.common.util;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.mockwebserver.Context;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.server.mock.OpenShiftMockServer;
+import io.quarkus.ts.openshift.common.OpenShiftTestException;
+import okhttp3.mockwebserver.MockWebServer;
+import org.awaitility.core.ConditionTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReadinessTrackerTest {
+    private OpenShiftMockServer server;
+    private OpenShiftClient oc;
+
+    @BeforeEach
+    public void startServer() {
+        // `OpenShiftServer` always uses HTTPS with TLSv1 in CRUD mode, which recent JDKs refuse
+        server = new OpenShiftMockServer(new Context(), new MockWebServer(), new HashMap<>(),
+                new KubernetesCrudDispatcher(), false);
+        server.init();
+        oc = server.createOpenShiftClient();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        oc.close();
+        server.destroy();
+    }
+
+    @Test
+    public void readinessDetectedOnStatusChange() throws Exception {
+        Pod pod = oc.pods().create(pod("my-pod", "False"));
+
+        try (ReadinessTracker tracker = new ReadinessTracker(oc)) {
+            CompletableFuture<HasMetadata> ready = tracker.track(pod);
+            assertFalse(ready.isDone());
+
+            long start = System.nanoTime();
+            oc.pods().createOrReplace(pod("my-pod", "True"));
+            ready.get(10, TimeUnit.SECONDS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // the old implementation polled every second
+            assertTrue(elapsedMillis < 500, "readiness detected after " + elapsedMillis + " ms");
+        }
+    }
+
+    @Test
+    public void alreadyReadyResource() throws Exception {
+        Pod pod = oc.pods().create(pod("my-pod", "True"));
+
+        try (ReadinessTracker tracker = new ReadinessTracker(oc)) {
+            assertTrue(tracker.track(pod).isDone());
+        }
+    }
+
+    @Test
+    public void missingResource() {
+        try (ReadinessTracker tracker = new ReadinessTracker(oc)) {
+            assertThrows(OpenShiftTestException.class,
+                    () -> tracker.awaitAllReady(Collections.singletonList(pod("my-pod", "False")), 1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void allResourcesTrackedAtOnce() throws Exception {
+        Pod first = oc.pods().create(pod("first-pod", "False"));
+        Pod second = oc.pods().create(pod("second-pod", "False"));
+
+        try (ReadinessTracker tracker = new ReadinessTracker(oc)) {
+            CompletableFuture<Void> allReady = CompletableFuture.runAsync(() -> {
+                try {
+                    tracker.awaitAllReady(Arrays.asList(first, second), 10, TimeUnit.SECONDS);
+                } catch (OpenShiftTestException e) {
+                    throw new CompletionException(e);
+                }
+            });
+
+            oc.pods().createOrReplace(pod("second-pod", "True"));
+            oc.pods().createOrReplace(pod("first-pod", "True"));
+            allReady.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void notReadyResourcesReported() {
+        Pod ready = oc.pods().create(pod("ready-pod", "True"));
+        Pod notReady = oc.pods().create(pod("not-ready-pod", "False"));
+
+        try (ReadinessTracker tracker = new ReadinessTracker(oc)) {
+            ConditionTimeoutException e = assertThrows(ConditionTimeoutException.class,
+                    () -> tracker.awaitAllReady(Arrays.asList(ready, notReady), 1, TimeUnit.SECONDS));
+            assertTrue(e.getMessage().endsWith(": pod 'not-ready-pod'"), e.getMessage());
+        }
+    }
+
+    private static Pod pod(String name, String readyStatus) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .endMetadata()
+                .withNewStatus()
+                .addNewCondition()
+                .withType("Ready")
+                .withStatus(readyStatus)
+                .endCondition()
+                .endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package io.quarkus.ts.openshift.common.util;
+
+import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.EndpointsBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.mockwebserver.Context;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.server.mock.OpenShiftMockServer;
+import io.quarkus.ts.openshift.common.OpenShiftTestException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.awaitility.core.ConditionTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteProbeTest {
+    private OpenShiftMockServer server;
+    private OpenShiftClient oc;
+    private MockWebServer route;
+
+    @BeforeEach
+    public void startServers() throws IOException {
+        // see `ReadinessTrackerTest` for why the CRUD mode server is created like this
+        server = new OpenShiftMockServer(new Context(), new MockWebServer(), new HashMap<>(),
+                new KubernetesCrudDispatcher(), false);
+        server.init();
+        oc = server.createOpenShiftClient();
+
+        route = new MockWebServer();
+        route.start();
+    }
+
+    @AfterEach
+    public void stopServers() throws IOException {
+        route.shutdown();
+        oc.close();
+        server.destroy();
+    }
+
+    @Test
+    public void routeProbedOnlyAfterEndpointsReady() throws Exception {
+        oc.endpoints().create(endpoints(false));
+        route.enqueue(new MockResponse().setResponseCode(200));
+
+        RouteProbe probe = new RouteProbe(oc, "app", route.url("/").toString());
+        CompletableFuture<Void> done = CompletableFuture.runAsync(() -> {
+            try {
+                probe.await(10, TimeUnit.SECONDS);
+            } catch (OpenShiftTestException e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        Thread.sleep(300);
+        assertFalse(done.isDone());
+        assertEquals(0, route.getRequestCount());
+
+        oc.endpoints().createOrReplace(endpoints(true));
+        done.get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, probe.attempts());
+        assertEquals(1, route.getRequestCount());
+        assertTrue(probe.timeFromEndpointsReadyNanos() >= 0);
+        assertTrue(probe.timeToFirstSuccessNanos() >= TimeUnit.MILLISECONDS.toNanos(300));
+    }
+
+    @Test
+    public void routeProbedWithBackoff() throws Exception {
+        oc.endpoints().create(endpoints(true));
+        route.enqueue(new MockResponse().setResponseCode(503));
+        route.enqueue(new MockResponse().setResponseCode(503));
+        route.enqueue(new MockResponse().setResponseCode(200));
+
+        RouteProbe probe = new RouteProbe(oc, "app", route.url("/").toString());
+        probe.await(10, TimeUnit.SECONDS);
+
+        assertEquals(3, probe.attempts());
+        assertEquals(3, route.getRequestCount());
+        // 50 ms after the first attempt, 75 ms after the second one
+        assertTrue(probe.timeFromEndpointsReadyNanos() >= TimeUnit.MILLISECONDS.toNanos(125),
+                probe.timeFromEndpointsReadyNanos() + " ns");
+    }
+
+    @Test
+    public void routeNotRespondingTimesOut() {
+        // no endpoints, so only the route is probed
+        for (int i = 0; i < 100; i++) {
+            route.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        RouteProbe probe = new RouteProbe(oc, "app", route.url("/").toString());
+        ConditionTimeoutException e = assertThrows(ConditionTimeoutException.class,
+                () -> probe.await(1, TimeUnit.SECONDS));
+
+        assertTrue(e.getMessage().contains("last result: HTTP 503"), e.getMessage());
+        assertTrue(probe.attempts() > 1);
+        assertEquals(-1, probe.timeToFirstSuccessNanos());
+    }
+
+    private static Endpoints endpoints(boolean ready) {
+        EndpointsBuilder builder = new EndpointsBuilder()
+                .withNewMetadata()
+                .withName("app")
+                .endMetadata();
+        if (ready) {
+            builder.addNewSubset()
+                    .addNewAddress().withIp("10.0.0.1").endAddress()
+                    .addNewPort().withPort(8080).endPort()
+                    .endSubset();
+        }
+        return builder.build();
+    }
+}
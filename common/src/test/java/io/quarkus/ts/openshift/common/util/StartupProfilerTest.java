@@ -0,0 +1,76 @@
+package io.quarkus.ts.openshift.common.util;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.quarkus.ts.openshift.common.util.StartupProfile.Metric;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StartupProfilerTest {
+    private static final String LOG = ""
+            + "2020-10-16T10:00:03.100000000Z exec java -Dquarkus.http.host=0.0.0.0 -jar /deployments/app.jar\n"
+            + "2020-10-16T10:00:04.250123456Z 2020-10-16 10:00:04,249 INFO  [io.quarkus] (main) http 1.0.0-SNAPSHOT "
+            + "on JVM (powered by Quarkus 1.9.1.Final) started in 0.932s. Listening on: http://0.0.0.0:8080\n"
+            + "2020-10-16T10:00:04.251000000Z 2020-10-16 10:00:04,250 INFO  [io.quarkus] (main) Profile prod activated.\n";
+
+    @Test
+    public void sample() {
+        StartupProfile.Sample sample = StartupProfiler.sample(pod(), LOG, 7_500);
+
+        assertEquals("http-1-abcde", sample.getPodName());
+        assertEquals(3_000, sample.getMillis(Metric.CONTAINER_START));
+        assertEquals(4_250, sample.getMillis(Metric.QUARKUS_STARTED));
+        assertEquals(932, sample.getMillis(Metric.QUARKUS_REPORTED));
+        assertEquals(5_000, sample.getMillis(Metric.READY));
+        assertEquals(7_500, sample.getMillis(Metric.FIRST_ROUTE_SUCCESS));
+    }
+
+    @Test
+    public void sampleWithoutStartedLogLine() {
+        StartupProfile.Sample sample = StartupProfiler.sample(pod(), "2020-10-16T10:00:03.100000000Z Error: Unable to access jarfile\n", 7_500);
+
+        assertEquals(-1, sample.getMillis(Metric.QUARKUS_STARTED));
+        assertEquals(-1, sample.getMillis(Metric.QUARKUS_REPORTED));
+        assertEquals(5_000, sample.getMillis(Metric.READY));
+    }
+
+    @Test
+    public void statistics() {
+        StartupProfile profile = new StartupProfile("http", Arrays.asList(
+                sample(Metric.READY, 5_000), sample(Metric.READY, 1_000), sample(Metric.READY, 3_000),
+                sample(Metric.READY, 2_000), sample(Metric.READY, 4_000), sample(Metric.FIRST_ROUTE_SUCCESS, 100)));
+
+        StartupProfile.Statistics ready = profile.getStatistics(Metric.READY);
+        assertEquals(5, ready.getCount());
+        assertEquals(1_000, ready.getMin());
+        assertEquals(3_000, ready.getMedian());
+        assertEquals(5_000, ready.getPercentile(90));
+        assertEquals(5_000, ready.getMax());
+        assertEquals(3_000, ready.getMean(), 0.001);
+
+        assertEquals(-1, profile.getStatistics(Metric.CONTAINER_START).getMedian());
+    }
+
+    private static Pod pod() {
+        return new PodBuilder()
+                .withNewMetadata().withName("http-1-abcde").withCreationTimestamp("2020-10-16T10:00:00Z").endMetadata()
+                .withNewSpec().addNewContainer().withName("http").endContainer().endSpec()
+                .withNewStatus()
+                .addNewContainerStatus().withName("http").withNewState().withNewRunning().withStartedAt("2020-10-16T10:00:03Z")
+                .endRunning().endState().endContainerStatus()
+                .addNewCondition().withType("Ready").withStatus("True").withLastTransitionTime("2020-10-16T10:00:05Z").endCondition()
+                .endStatus()
+                .build();
+    }
+
+    private static StartupProfile.Sample sample(Metric metric, long millis) {
+        Map<Metric, Long> values = new EnumMap<>(Metric.class);
+        values.put(metric, millis);
+        return new StartupProfile.Sample("pod", values);
+    }
+}
@@ -1,6 +1,7 @@
 package io.quarkus.ts.openshift.http;
 
 import io.quarkus.ts.openshift.common.OpenShiftTest;
+import io.quarkus.ts.openshift.common.PerformanceBudget;
 import org.junit.jupiter.api.Test;
 
 import static io.restassured.RestAssured.when;
@@ -9,6 +10,7 @@ import static org.hamcrest.CoreMatchers.is;
 @OpenShiftTest
 public class HttpOpenShiftIT {
     @Test
+    @PerformanceBudget(endpoint = "/hello", p99Millis = 100, minRps = 500)
     public void hello() {
         when()
                 .get("/hello")
@@ -1,5 +1,6 @@
 package io.quarkus.ts.openshift.messaging.artemis;
 
+import io.quarkus.ts.openshift.common.PerformanceBudget;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,7 @@ public abstract class AbstractArtemisTest {
      */
     @Test
     @Order(1)
+    @PerformanceBudget(endpoint = "/prices/last", p99Millis = 100, minRps = 500)
     public void testLastPrice() {
         await().atMost(60, TimeUnit.SECONDS).untilAsserted(() -> {
             String value =
@@ -1,8 +1,12 @@
 package io.quarkus.ts.openshift.scaling;
 
+import io.quarkus.ts.openshift.common.OnlyIfConfigured;
 import io.quarkus.ts.openshift.common.OpenShiftTest;
+import io.quarkus.ts.openshift.common.OpenShiftTestException;
 import io.quarkus.ts.openshift.common.injection.TestResource;
 import io.quarkus.ts.openshift.common.util.OpenShiftUtil;
+import io.quarkus.ts.openshift.common.util.StartupProfile;
+import io.quarkus.ts.openshift.common.util.StartupProfiler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
@@ -25,6 +29,9 @@ public class ScalingOpenShiftIT {
     @TestResource
     private OpenShiftUtil openShiftUtil;
 
+    @TestResource
+    private StartupProfiler startupProfiler;
+
     @AfterEach
     public void scaleBack() {
         openShiftUtil.scale(DC_NAME, 1);
@@ -125,4 +132,18 @@ public class ScalingOpenShiftIT {
         }
     }
 
+    /**
+     * Workflow:
+     * * Scale down to zero replicas and back to a single replica, several times.
+     * * Verify that startup of each replica was measured.
+     */
+    @Test
+    @OnlyIfConfigured("ts.startup-profile")
+    public void startupProfile() throws OpenShiftTestException {
+        StartupProfile profile = startupProfiler.profile(DC_NAME, 5);
+
+        assertThat(profile.getStatistics(StartupProfile.Metric.FIRST_ROUTE_SUCCESS).getCount()).isEqualTo(5);
+        assertThat(profile.getStatistics(StartupProfile.Metric.QUARKUS_REPORTED).getCount()).isEqualTo(5);
+    }
+
 }
@@ -1,5 +1,6 @@
 package io.quarkus.ts.openshift.sqldb;
 
+import io.quarkus.ts.openshift.common.PerformanceBudget;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -26,6 +27,7 @@ public abstract class AbstractSqlDatabaseTest {
 
     @Test
     @Order(2)
+    @PerformanceBudget(endpoint = "/book/7", p99Millis = 200, minRps = 200)
     public void get() {
         when()
                 .get("/book/7")